@@ -0,0 +1,63 @@
+package com.klm.taskmanagement.global.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klm.taskmanagement.task.dto.TaskDto;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of the {@code ApiResponse<Page<TaskDto>>} body
+ * returned by {@code GET /api/tasks/all-tasks}.
+ * <p>
+ * The mapper is built the way Spring Boot builds its default one
+ * (Java time module, ISO dates instead of timestamps).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<TaskDto>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<TaskDto> tasks = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            long id = i + 1L;
+            tasks.add(new TaskDto(id, "Task " + id, "Description of task " + id,
+                    TaskStatus.IN_PROGRESS, TaskPriority.HIGH, LocalDate.of(2030, 1, 1),
+                    3L, LocalDateTime.of(2025, 6, 1, 12, 0), 2));
+        }
+        Page<TaskDto> page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), pageSize * 10L);
+        response = ApiResponse.success("Tasks fetched", page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
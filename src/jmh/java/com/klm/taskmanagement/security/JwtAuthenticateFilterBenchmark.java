@@ -0,0 +1,81 @@
+package com.klm.taskmanagement.security;
+
+import com.klm.taskmanagement.security.revocation.RevokedTokenRepository;
+import com.klm.taskmanagement.security.revocation.TokenRevocationService;
+import com.klm.taskmanagement.security.revocation.UserTokenInvalidationRepository;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import com.klm.taskmanagement.user.repository.UserRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of {@link JwtAuthenticateFilter}: header parsing,
+ * token verification and building the authentication.
+ * <p>
+ * {@code cacheSize = 0} reproduces full HMAC verification on every request;
+ * a non-zero size serves repeated tokens from the verified-token cache.
+ * {@code authMode = claims} skips the (stubbed) user lookup entirely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticateFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    @Param({"database", "claims"})
+    public String authMode;
+
+    private JwtAuthenticateFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenGenerator generator = new JwtTokenGenerator("benchmark-secret", 3_600_000L, cacheSize);
+
+        User user = User.builder()
+                .id(1L)
+                .username("bench")
+                .password("encoded")
+                .roles(Set.of(Role.ROLE_USER))
+                .build();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByUsername("bench")).thenReturn(Optional.of(user));
+
+        TokenRevocationService revocationService =
+                new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class), 100_000, 0.001);
+
+        filter = new JwtAuthenticateFilter(generator, new UserInfoService(userRepository),
+                new TokenInvalidationRegistry(Mockito.mock(UserTokenInvalidationRepository.class), 3_600_000L), revocationService, authMode);
+        authorizationHeader = "Bearer " + generator.generateToken("bench", Set.of(Role.ROLE_USER.name()));
+    }
+
+    @Benchmark
+    public Authentication authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1/info");
+        request.addHeader("Authorization", authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
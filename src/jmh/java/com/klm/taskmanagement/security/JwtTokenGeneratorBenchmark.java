@@ -0,0 +1,51 @@
+package com.klm.taskmanagement.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.klm.taskmanagement.user.entity.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signing and verifying tokens with {@link JwtTokenGenerator}.
+ * <p>
+ * {@code cacheSize = 0} verifies the HMAC signature on every call;
+ * a non-zero size serves the repeated token from the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenGeneratorBenchmark {
+
+    private static final Set<String> ROLES = Set.of(Role.ROLE_USER.name());
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private JwtTokenGenerator generator;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        generator = new JwtTokenGenerator("benchmark-secret", 3_600_000L, cacheSize);
+        token = generator.generateToken("bench", ROLES);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return generator.generateToken("bench", ROLES);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyToken() {
+        return generator.verifyToken(token);
+    }
+}
@@ -0,0 +1,73 @@
+package com.klm.taskmanagement.task.service;
+
+import com.klm.taskmanagement.task.dto.TaskDto;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity-to-DTO mapping done by {@link TaskServiceImpl} for a single task
+ * and for a page of tasks, as returned by the task listing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskMappingBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private Task task;
+    private Page<Task> page;
+
+    @Setup
+    public void setUp() {
+        List<Task> tasks = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            tasks.add(task(i + 1L));
+        }
+        task = tasks.get(0);
+        page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), pageSize * 10L);
+    }
+
+    @Benchmark
+    public TaskDto mapTask() {
+        return TaskServiceImpl.toDTO(task);
+    }
+
+    @Benchmark
+    public Page<TaskDto> mapPage() {
+        return page.map(TaskServiceImpl::toDTO);
+    }
+
+    static Task task(long id) {
+        return Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .description("Description of task " + id)
+                .status(TaskStatus.IN_PROGRESS)
+                .priority(TaskPriority.HIGH)
+                .targetDate(LocalDate.of(2030, 1, 1))
+                .commentCount(3)
+                .lastActivityAt(LocalDateTime.of(2025, 6, 1, 12, 0))
+                .version(2)
+                .build();
+    }
+}
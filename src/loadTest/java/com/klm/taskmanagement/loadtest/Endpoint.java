@@ -0,0 +1,49 @@
+package com.klm.taskmanagement.loadtest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The endpoints driven by the load test, each reported separately.
+ */
+public enum Endpoint {
+
+    /** {@code POST /api/auth/login}; the new token replaces the virtual user's current one. */
+    LOGIN("login"),
+    /** {@code GET /api/tasks/all-tasks}, a random page of 20 tasks. */
+    LIST("list"),
+    /** {@code GET /api/tasks/{id}/info} for a random task. */
+    GET("get"),
+    /** {@code PUT /api/tasks/{id}/update} of a random task. */
+    UPDATE("update"),
+    /** {@code POST /api/comments/create} on a random task. */
+    COMMENT("comment");
+
+    private final String reportName;
+
+    Endpoint(String reportName) {
+        this.reportName = reportName;
+    }
+
+    /**
+     * Returns the name used in the mix setting and in the report.
+     */
+    public String reportName() {
+        return reportName;
+    }
+
+    /**
+     * Resolves an endpoint by its report name.
+     *
+     * @param name the report name, e.g. {@code get}
+     * @return the endpoint
+     * @throws IllegalArgumentException if no endpoint has that name
+     */
+    public static Endpoint fromName(String name) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.reportName.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint '" + name + "', expected one of "
+                        + Arrays.stream(values()).map(Endpoint::reportName).collect(Collectors.joining(", "))));
+    }
+}
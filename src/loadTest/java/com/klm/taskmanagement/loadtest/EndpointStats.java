@@ -0,0 +1,66 @@
+package com.klm.taskmanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint during one phase, shared by all virtual users.
+ * <p>
+ * Latencies are recorded in microseconds with three significant digits; the histogram
+ * resizes itself, so outliers are never clamped.
+ */
+public class EndpointStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Records a completed request.
+     *
+     * @param elapsedNanos time from sending the request to reading the whole response
+     * @param status       the HTTP status; 4xx and 5xx count as errors
+     */
+    public void record(long elapsedNanos, int status) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        if (status >= 400) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Records a request that got no response (connection error or timeout).
+     * It counts as an error and is left out of the latencies.
+     */
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Summarizes the phase.
+     *
+     * @param elapsedSeconds length of the measured phase
+     * @return the report entry for this endpoint
+     */
+    public LoadTestReport.EndpointResult result(double elapsedSeconds) {
+        long responses = latencies.getTotalCount();
+        long requests = responses + failures.sum();
+        return new LoadTestReport.EndpointResult(
+                requests,
+                errors.sum() + failures.sum(),
+                requests / elapsedSeconds,
+                new LoadTestReport.Latency(
+                        millis(latencies.getValueAtPercentile(50)),
+                        millis(latencies.getValueAtPercentile(99)),
+                        millis(latencies.getValueAtPercentile(99.9)),
+                        millis(latencies.getMaxValue()),
+                        responses == 0 ? 0 : latencies.getMean() / 1000.0));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.klm.taskmanagement.loadtest;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load-test run, written as JSON so runs on different
+ * commits can be compared.
+ *
+ * @param label          the run's label, e.g. the commit id
+ * @param startedAt      when the measured phase started
+ * @param javaVersion    the JVM version the application ran on
+ * @param processors     available processors
+ * @param settings       the settings of the run
+ * @param elapsedSeconds actual length of the measured phase
+ * @param total          all endpoints combined
+ * @param endpoints      results per endpoint, keyed by report name
+ */
+public record LoadTestReport(
+        String label,
+        Instant startedAt,
+        String javaVersion,
+        int processors,
+        LoadTestSettings settings,
+        double elapsedSeconds,
+        Total total,
+        Map<String, EndpointResult> endpoints
+) {
+
+    /**
+     * Combined counts of all endpoints.
+     *
+     * @param requests            requests sent
+     * @param errors              error responses and requests without a response
+     * @param throughputPerSecond requests per second
+     */
+    public record Total(long requests, long errors, double throughputPerSecond) {
+    }
+
+    /**
+     * Counts and latencies of one endpoint.
+     *
+     * @param requests            requests sent
+     * @param errors              error responses and requests without a response
+     * @param throughputPerSecond requests per second
+     * @param latencyMs           response latency percentiles, in milliseconds
+     */
+    public record EndpointResult(long requests, long errors, double throughputPerSecond, Latency latencyMs) {
+    }
+
+    /**
+     * Latency distribution in milliseconds.
+     *
+     * @param p50  median
+     * @param p99  99th percentile
+     * @param p999 99.9th percentile
+     * @param max  slowest response
+     * @param mean mean
+     */
+    public record Latency(double p50, double p99, double p999, double max, double mean) {
+    }
+}
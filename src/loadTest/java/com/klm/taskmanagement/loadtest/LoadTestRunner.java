@@ -0,0 +1,172 @@
+package com.klm.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.klm.taskmanagement.TaskManagementApplication;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.task.repository.TaskRepository;
+import com.klm.taskmanagement.user.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end HTTP load test of the real application.
+ * <p>
+ * Boots the application on a random port with its own in-memory H2 database, seeds users,
+ * tasks and comments, then drives a weighted mix of login, list, get, update and comment
+ * requests from {@code concurrency} virtual users. After a warm-up phase, throughput and
+ * p50/p99/p99.9 latency are measured per endpoint and written as JSON.
+ * <p>
+ * Run with {@code ./gradlew loadTest}; see {@link LoadTestSettings} for the parameters.
+ */
+public final class LoadTestRunner {
+
+    /**
+     * Application properties that differ from a normal start. Login limits are raised because
+     * every virtual user connects from the same address and logs in repeatedly.
+     */
+    private static final String[] APPLICATION_PROPERTIES = {
+            "server.port=0",
+            "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "security.login.rate-limit.per-username=1000000",
+            "security.login.rate-limit.per-ip=1000000",
+            "logging.level.root=WARN"
+    };
+
+    private LoadTestRunner() {
+    }
+
+    /**
+     * Runs the load test with settings from {@code loadtest.*} system properties.
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .properties(APPLICATION_PROPERTIES)
+                .run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            log("Seeding %d users, %d tasks and %d comments", settings.users(), settings.tasks(), settings.comments());
+            LoadTestSeeder.SeedData seedData = new LoadTestSeeder(
+                    context.getBean(UserRepository.class),
+                    context.getBean(TaskRepository.class),
+                    context.getBean(CommentRepository.class),
+                    context.getBean(PasswordEncoder.class),
+                    new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+            ).seed(settings);
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            URI baseUri = URI.create("http://localhost:" + port);
+            List<VirtualUser> virtualUsers = new ArrayList<>(settings.concurrency());
+            for (int i = 0; i < settings.concurrency(); i++) {
+                VirtualUser virtualUser = new VirtualUser(i, httpClient, objectMapper, baseUri, seedData, settings);
+                virtualUser.logIn();
+                virtualUsers.add(virtualUser);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+            try {
+                log("Warming up for %s with %d virtual users", settings.warmup(), settings.concurrency());
+                runPhase(executor, virtualUsers, settings.warmup(), newStats());
+
+                log("Measuring for %s", settings.duration());
+                Map<Endpoint, EndpointStats> stats = newStats();
+                Instant startedAt = Instant.now();
+                long start = System.nanoTime();
+                runPhase(executor, virtualUsers, settings.duration(), stats);
+                double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+                LoadTestReport report = report(settings, startedAt, elapsedSeconds, stats);
+                Files.createDirectories(settings.output().toAbsolutePath().getParent());
+                objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(settings.output().toFile(), report);
+                printSummary(report);
+                log("Report written to %s", settings.output().toAbsolutePath());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Lets every virtual user send requests for the given duration and waits for all of them.
+     */
+    private static void runPhase(ExecutorService executor, List<VirtualUser> virtualUsers,
+                                 Duration duration, Map<Endpoint, EndpointStats> stats) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> running = new ArrayList<>(virtualUsers.size());
+        for (VirtualUser virtualUser : virtualUsers) {
+            running.add(executor.submit(() -> {
+                virtualUser.run(deadline, stats);
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+    }
+
+    private static Map<Endpoint, EndpointStats> newStats() {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        return stats;
+    }
+
+    private static LoadTestReport report(LoadTestSettings settings, Instant startedAt, double elapsedSeconds,
+                                         Map<Endpoint, EndpointStats> stats) {
+        Map<String, LoadTestReport.EndpointResult> endpoints = new LinkedHashMap<>();
+        long requests = 0;
+        long errors = 0;
+        for (Endpoint endpoint : settings.mix().keySet()) {
+            LoadTestReport.EndpointResult result = stats.get(endpoint).result(elapsedSeconds);
+            endpoints.put(endpoint.reportName(), result);
+            requests += result.requests();
+            errors += result.errors();
+        }
+        return new LoadTestReport(settings.label(), startedAt, Runtime.version().toString(),
+                Runtime.getRuntime().availableProcessors(), settings, elapsedSeconds,
+                new LoadTestReport.Total(requests, errors, requests / elapsedSeconds), endpoints);
+    }
+
+    private static void printSummary(LoadTestReport report) {
+        System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        report.endpoints().forEach((name, result) -> System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                name, result.requests(), result.errors(), result.throughputPerSecond(),
+                result.latencyMs().p50(), result.latencyMs().p99(), result.latencyMs().p999()));
+        System.out.printf("%-10s %10d %8d %10.1f%n%n", "total",
+                report.total().requests(), report.total().errors(), report.total().throughputPerSecond());
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
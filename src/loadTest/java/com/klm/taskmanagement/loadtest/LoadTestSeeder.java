@@ -0,0 +1,135 @@
+package com.klm.taskmanagement.loadtest;
+
+import com.klm.taskmanagement.task.entity.Comment;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.task.repository.TaskRepository;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import com.klm.taskmanagement.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seeds users, tasks and comments through the application's repositories.
+ * <p>
+ * Rows are written in chunks, one transaction per chunk, so the persistence context stays small.
+ * Users get the same role as self-registered users and share one password, hashed once.
+ */
+@RequiredArgsConstructor
+public class LoadTestSeeder {
+
+    static final String PASSWORD = "LoadTest#2024";
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Ids and credentials of the seeded data, used to address requests.
+     *
+     * @param usernames the seeded usernames, by index
+     * @param userIds   the seeded user ids, by index
+     * @param taskIds   the seeded task ids
+     */
+    public record SeedData(List<String> usernames, long[] userIds, long[] taskIds) {
+    }
+
+    /**
+     * Writes the configured number of users, tasks and comments.
+     *
+     * @param settings the load-test settings
+     * @return the seeded ids
+     */
+    public SeedData seed(LoadTestSettings settings) {
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<String> usernames = new ArrayList<>(settings.users());
+        long[] userIds = new long[settings.users()];
+        long[] taskIds = new long[settings.tasks()];
+
+        inChunks(settings.users(), (from, to) -> {
+            List<User> users = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                users.add(User.builder()
+                        .username("loaduser" + i)
+                        .email("loaduser" + i + "@loadtest.local")
+                        .password(encodedPassword)
+                        .roles(Set.of(Role.ROLE_ADMIN))
+                        .build());
+            }
+            List<User> saved = userRepository.saveAll(users);
+            for (int i = 0; i < saved.size(); i++) {
+                usernames.add(saved.get(i).getUsername());
+                userIds[from + i] = saved.get(i).getId();
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        inChunks(settings.tasks(), (from, to) -> {
+            List<Task> tasks = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                tasks.add(Task.builder()
+                        .title("Load test task " + i)
+                        .description("Seeded task " + i + " for the HTTP load test")
+                        .status(TaskStatus.values()[i % 2])
+                        .priority(TaskPriority.values()[i % TaskPriority.values().length])
+                        .targetDate(LocalDate.now().plusYears(1))
+                        .assignedUser(userRepository.getReferenceById(userIds[i % userIds.length]))
+                        .commentCount(commentsOnTask(i, settings))
+                        .lastActivityAt(now)
+                        .build());
+            }
+            List<Task> saved = taskRepository.saveAll(tasks);
+            for (int i = 0; i < saved.size(); i++) {
+                taskIds[from + i] = saved.get(i).getId();
+            }
+        });
+
+        inChunks(settings.comments(), (from, to) -> {
+            List<Comment> comments = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Comment comment = new Comment();
+                comment.setContent("Seeded comment " + i);
+                comment.setTask(taskRepository.getReferenceById(taskIds[i % taskIds.length]));
+                comment.setAuthor(userRepository.getReferenceById(userIds[i % userIds.length]));
+                comments.add(comment);
+            }
+            commentRepository.saveAll(comments);
+        });
+
+        return new SeedData(usernames, userIds, taskIds);
+    }
+
+    /**
+     * Number of comments the round-robin distribution assigns to the task at {@code index}.
+     */
+    private static long commentsOnTask(int index, LoadTestSettings settings) {
+        int perTask = settings.comments() / settings.tasks();
+        return perTask + (index < settings.comments() % settings.tasks() ? 1 : 0);
+    }
+
+    private void inChunks(int total, ChunkWriter writer) {
+        for (int from = 0; from < total; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(total, from + CHUNK_SIZE);
+            transactionTemplate.executeWithoutResult(status -> writer.write(start, end));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int from, int to);
+    }
+}
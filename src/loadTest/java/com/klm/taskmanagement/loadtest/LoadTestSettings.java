@@ -0,0 +1,93 @@
+package com.klm.taskmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load-test parameters, read from {@code loadtest.*} system properties
+ * (passed by the Gradle task as {@code -Ploadtest.concurrency=32} etc.).
+ *
+ * @param users       number of seeded users; virtual users log in as them round-robin
+ * @param tasks       number of seeded tasks
+ * @param comments    number of seeded comments, spread evenly over the tasks
+ * @param concurrency number of virtual users sending requests in parallel
+ * @param warmup      how long traffic runs before measuring starts
+ * @param duration    how long traffic is measured
+ * @param mix         relative weight of each endpoint in the traffic
+ * @param seed        random seed, so runs replay the same request sequence
+ * @param label       free-form label stored in the report, e.g. the commit id
+ * @param output      where the JSON report is written
+ */
+public record LoadTestSettings(
+        int users,
+        int tasks,
+        int comments,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        long seed,
+        String label,
+        Path output
+) {
+
+    private static final String PREFIX = "loadtest.";
+
+    /**
+     * Reads the settings from system properties, using defaults for missing ones.
+     *
+     * @return the settings
+     * @throws IllegalArgumentException if a value is malformed or out of range
+     */
+    public static LoadTestSettings fromSystemProperties() {
+        LoadTestSettings settings = new LoadTestSettings(
+                intProperty("users", 50),
+                intProperty("tasks", 5_000),
+                intProperty("comments", 20_000),
+                intProperty("concurrency", 16),
+                Duration.parse(property("warmup", "PT15S")),
+                Duration.parse(property("duration", "PT60S")),
+                parseMix(property("mix", "login=5,list=20,get=35,update=20,comment=20")),
+                Long.parseLong(property("seed", "42")),
+                property("label", ""),
+                Path.of(property("output", "build/reports/loadtest/results.json"))
+        );
+        if (settings.users < 1 || settings.tasks < 1 || settings.comments < 0 || settings.concurrency < 1) {
+            throw new IllegalArgumentException("users, tasks and concurrency must be positive and comments not negative");
+        }
+        return settings;
+    }
+
+    /**
+     * Parses a mix such as {@code login=5,get=60,update=35}; endpoints not listed get no traffic.
+     */
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix entry: " + entry);
+            }
+            mix.put(Endpoint.fromName(parts[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix has no traffic: " + value);
+        }
+        return mix;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(property(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,159 @@
+package com.klm.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One simulated client: logs in as a seeded user, then sends requests back to back,
+ * choosing each endpoint by its weight in the mix.
+ * <p>
+ * The next request is sent only after the previous response has been read (a closed loop),
+ * so a slow response also delays the requests behind it. Compare tail latencies between runs
+ * with the same concurrency; they understate what clients arriving at a fixed rate would see.
+ */
+public class VirtualUser {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 20;
+    private static final String[] UPDATE_STATUSES = {"TODO", "IN_PROGRESS"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI baseUri;
+    private final LoadTestSeeder.SeedData seedData;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final Random random;
+    private final String username;
+    private final long userId;
+    private String token;
+
+    /**
+     * Creates the virtual user with the given index; its request sequence depends only on the seed and the index.
+     */
+    VirtualUser(int index, HttpClient httpClient, ObjectMapper objectMapper, URI baseUri,
+                LoadTestSeeder.SeedData seedData, LoadTestSettings settings) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.seedData = seedData;
+        this.random = new Random(settings.seed() + index);
+        this.username = seedData.usernames().get(index % seedData.usernames().size());
+        this.userId = seedData.userIds()[index % seedData.userIds().length];
+
+        Map<Endpoint, Integer> mix = settings.mix();
+        this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += mix.get(endpoints[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * Logs in before the first request. Not measured.
+     *
+     * @throws IllegalStateException if the login fails
+     */
+    void logIn() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(Endpoint.LOGIN);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + username + " failed with status " + response.statusCode());
+        }
+    }
+
+    /**
+     * Sends requests until the deadline, recording each into the stats of its endpoint.
+     *
+     * @param deadline value of {@link System#nanoTime()} at which to stop
+     * @param stats    the stats of the current phase, one per endpoint
+     */
+    void run(long deadline, Map<Endpoint, EndpointStats> stats) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = nextEndpoint();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = send(endpoint);
+                stats.get(endpoint).record(System.nanoTime() - start, response.statusCode());
+            } catch (IOException e) {
+                stats.get(endpoint).recordFailure();
+            }
+        }
+    }
+
+    private Endpoint nextEndpoint() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Weights do not cover " + pick);
+    }
+
+    private HttpResponse<byte[]> send(Endpoint endpoint) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request(endpoint), HttpResponse.BodyHandlers.ofByteArray());
+        if (endpoint == Endpoint.LOGIN && response.statusCode() == 200) {
+            JsonNode body = objectMapper.readTree(response.body());
+            token = body.path("data").path("token").asText();
+        }
+        return response;
+    }
+
+    private HttpRequest request(Endpoint endpoint) throws IOException {
+        long taskId = seedData.taskIds()[random.nextInt(seedData.taskIds().length)];
+        return switch (endpoint) {
+            case LOGIN -> post("/api/auth/login", Map.of(
+                    "username", username,
+                    "password", LoadTestSeeder.PASSWORD));
+            case LIST -> authorized("/api/tasks/all-tasks?page="
+                    + random.nextInt(Math.max(1, seedData.taskIds().length / PAGE_SIZE)) + "&size=" + PAGE_SIZE)
+                    .GET()
+                    .build();
+            case GET -> authorized("/api/tasks/" + taskId + "/info").GET().build();
+            case UPDATE -> authorized("/api/tasks/" + taskId + "/update")
+                    .header("Content-Type", "application/json")
+                    .PUT(json(Map.of(
+                            "title", "Load test task " + taskId,
+                            "description", "Updated by " + username,
+                            "status", UPDATE_STATUSES[random.nextInt(UPDATE_STATUSES.length)],
+                            "priority", PRIORITIES[random.nextInt(PRIORITIES.length)],
+                            "targetDate", LocalDate.now().plusYears(1).toString(),
+                            "assignedUserId", userId)))
+                    .build();
+            case COMMENT -> post("/api/comments/create", Map.of(
+                    "content", "Load test comment from " + username,
+                    "taskId", taskId,
+                    "authorId", userId));
+        };
+    }
+
+    private HttpRequest post(String path, Map<String, Object> body) throws IOException {
+        HttpRequest.Builder builder = token == null || path.startsWith("/api/auth/")
+                ? HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT)
+                : authorized(path);
+        return builder.header("Content-Type", "application/json").POST(json(body)).build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, Object> body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+}
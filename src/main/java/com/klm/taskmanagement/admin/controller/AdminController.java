@@ -0,0 +1,121 @@
+package com.klm.taskmanagement.admin.controller;
+
+import com.klm.taskmanagement.admin.dto.CacheStatsDto;
+import com.klm.taskmanagement.admin.dto.LoginStatsDto;
+import com.klm.taskmanagement.admin.dto.QueryInsightDto;
+import com.klm.taskmanagement.admin.dto.TableStatsDto;
+import com.klm.taskmanagement.admin.query.QueryInsight;
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.response.ApiResponse;
+import com.klm.taskmanagement.security.CachingUserInfoService;
+import com.klm.taskmanagement.security.JwtTokenGenerator;
+import com.klm.taskmanagement.security.VerifiedTokenCache;
+import com.klm.taskmanagement.security.login.LoginMetrics;
+import com.klm.taskmanagement.security.login.LoginPipeline;
+import com.klm.taskmanagement.task.archive.ArchivedCommentRepository;
+import com.klm.taskmanagement.task.archive.ArchivedTaskRepository;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.task.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST controller exposing operational insight for administrators.
+ * <p>
+ * All endpoints are restricted to users with the ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final CachingUserInfoService cachingUserInfoService;
+    private final JwtTokenGenerator jwtTokenGenerator;
+    private final LoginPipeline loginPipeline;
+    private final LoginMetrics loginMetrics;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
+    private final QueryInsight queryInsight;
+
+    /**
+     * Returns hit-rate statistics for the application's in-memory caches.
+     *
+     * @return ApiResponse containing cache statistics keyed by cache name
+     */
+    @GetMapping("/caches")
+    public ApiResponse<Map<String, CacheStatsDto>> getCacheStats() {
+        Map<String, CacheStatsDto> caches = new LinkedHashMap<>();
+        caches.put("userDetails", CacheStatsDto.of(cachingUserInfoService.size(), cachingUserInfoService.stats()));
+        VerifiedTokenCache tokenCache = jwtTokenGenerator.getVerifiedTokenCache();
+        if (tokenCache != null) {
+            caches.put("verifiedTokens", CacheStatsDto.of(tokenCache.size(), tokenCache.stats()));
+        }
+        return ApiResponse.success(AppConstants.CACHE_STATS_FETCH, caches);
+    }
+
+    /**
+     * Returns throughput and latency of the isolated login pipeline.
+     *
+     * @return ApiResponse containing login statistics
+     */
+    @GetMapping("/login-stats")
+    public ApiResponse<LoginStatsDto> getLoginStats() {
+        LoginStatsDto stats = new LoginStatsDto(
+                loginMetrics.succeeded(),
+                loginMetrics.failed(),
+                loginMetrics.rejected(),
+                loginMetrics.averageLatencyMillis(),
+                loginMetrics.maxLatencyMillis(),
+                loginPipeline.activeCount(),
+                loginPipeline.queuedCount());
+        return ApiResponse.success(AppConstants.LOGIN_STATS_FETCH, stats);
+    }
+
+    /**
+     * Returns the size of the live task tables and of the archive.
+     *
+     * @return ApiResponse containing row counts
+     */
+    @GetMapping("/tables")
+    public ApiResponse<TableStatsDto> getTableStats() {
+        TableStatsDto stats = new TableStatsDto(
+                taskRepository.count(),
+                archivedTaskRepository.count(),
+                commentRepository.count(),
+                archivedCommentRepository.count());
+        return ApiResponse.success(AppConstants.TABLE_STATS_FETCH, stats);
+    }
+
+    /**
+     * Returns Hibernate statistics with the slowest and the most frequently executed queries.
+     *
+     * @param top how many queries to list in each ranking, default is 10
+     * @return ApiResponse containing the query statistics
+     */
+    @GetMapping("/queries")
+    public ApiResponse<QueryInsightDto> getQueryStats(@RequestParam(defaultValue = "10") int top) {
+        return ApiResponse.success(AppConstants.QUERY_STATS_FETCH, queryInsight.snapshot(top));
+    }
+
+    /**
+     * Clears the Hibernate statistics, e.g. before measuring a specific workload.
+     *
+     * @return ApiResponse confirming the reset
+     */
+    @DeleteMapping("/queries")
+    public ApiResponse<Void> resetQueryStats() {
+        queryInsight.reset();
+        return ApiResponse.success(AppConstants.QUERY_STATS_RESET, null);
+    }
+}
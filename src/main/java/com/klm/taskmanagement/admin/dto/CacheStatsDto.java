@@ -0,0 +1,31 @@
+package com.klm.taskmanagement.admin.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Snapshot of an in-memory cache's effectiveness.
+ *
+ * @param size          approximate number of entries currently held
+ * @param hitCount      number of lookups served from the cache
+ * @param missCount     number of lookups that had to load the value
+ * @param hitRate       ratio of hits to total lookups (1.0 when there were no lookups)
+ * @param evictionCount number of entries evicted for size or expiry
+ */
+public record CacheStatsDto(
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount
+) {
+    /**
+     * Builds the DTO from Caffeine statistics.
+     *
+     * @param size  approximate number of entries
+     * @param stats the cache statistics
+     * @return the statistics DTO
+     */
+    public static CacheStatsDto of(long size, CacheStats stats) {
+        return new CacheStatsDto(size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
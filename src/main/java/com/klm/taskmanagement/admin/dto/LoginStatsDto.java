@@ -0,0 +1,23 @@
+package com.klm.taskmanagement.admin.dto;
+
+/**
+ * Snapshot of login pipeline throughput and latency.
+ *
+ * @param succeeded            number of successful password verifications
+ * @param failed               number of rejected credentials
+ * @param rejected             attempts refused by rate limiting, a full queue or a timeout
+ * @param averageLatencyMillis mean time from submission to verification result
+ * @param maxLatencyMillis     slowest time from submission to verification result
+ * @param activeVerifications  verifications currently running
+ * @param queuedVerifications  verifications waiting for a thread
+ */
+public record LoginStatsDto(
+        long succeeded,
+        long failed,
+        long rejected,
+        double averageLatencyMillis,
+        double maxLatencyMillis,
+        int activeVerifications,
+        int queuedVerifications
+) {
+}
@@ -0,0 +1,37 @@
+package com.klm.taskmanagement.admin.dto;
+
+import java.util.List;
+
+/**
+ * Hibernate statistics since startup (or the last reset), with the heaviest queries.
+ *
+ * @param queryExecutionCount       queries executed
+ * @param queryExecutionMaxTimeMs   slowest query execution in milliseconds
+ * @param slowestQuery              the query that took {@code queryExecutionMaxTimeMs}
+ * @param prepareStatementCount     JDBC statements prepared
+ * @param entityLoadCount           entities loaded
+ * @param entityFetchCount          entities fetched by lazy loading
+ * @param collectionLoadCount       collections loaded
+ * @param collectionFetchCount      collections fetched by lazy loading
+ * @param secondLevelCacheHitCount  second-level cache hits
+ * @param secondLevelCacheMissCount second-level cache misses
+ * @param secondLevelCachePutCount  second-level cache puts
+ * @param slowest                   queries with the highest maximum execution time
+ * @param mostFrequent              queries executed most often
+ */
+public record QueryInsightDto(
+        long queryExecutionCount,
+        long queryExecutionMaxTimeMs,
+        String slowestQuery,
+        long prepareStatementCount,
+        long entityLoadCount,
+        long entityFetchCount,
+        long collectionLoadCount,
+        long collectionFetchCount,
+        long secondLevelCacheHitCount,
+        long secondLevelCacheMissCount,
+        long secondLevelCachePutCount,
+        List<QueryStatsDto> slowest,
+        List<QueryStatsDto> mostFrequent
+) {
+}
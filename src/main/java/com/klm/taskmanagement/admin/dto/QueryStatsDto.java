@@ -0,0 +1,32 @@
+package com.klm.taskmanagement.admin.dto;
+
+import org.hibernate.stat.QueryStatistics;
+
+/**
+ * Execution statistics of one JPQL/HQL or native query.
+ *
+ * @param query          the query string
+ * @param executionCount number of executions
+ * @param averageTimeMs  average execution time in milliseconds
+ * @param maxTimeMs      slowest execution time in milliseconds
+ * @param rowCount       total rows returned over all executions
+ */
+public record QueryStatsDto(
+        String query,
+        long executionCount,
+        double averageTimeMs,
+        long maxTimeMs,
+        long rowCount
+) {
+    /**
+     * Builds the DTO from Hibernate query statistics.
+     *
+     * @param query      the query string
+     * @param statistics the statistics of that query
+     * @return the DTO
+     */
+    public static QueryStatsDto of(String query, QueryStatistics statistics) {
+        return new QueryStatsDto(query, statistics.getExecutionCount(), statistics.getExecutionAvgTimeAsDouble(),
+                statistics.getExecutionMaxTime(), statistics.getExecutionRowCount());
+    }
+}
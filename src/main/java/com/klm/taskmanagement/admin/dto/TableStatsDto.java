@@ -0,0 +1,17 @@
+package com.klm.taskmanagement.admin.dto;
+
+/**
+ * Row counts of the live (hot) task tables and their archive.
+ *
+ * @param liveTasks        tasks in the live {@code tasks} table
+ * @param archivedTasks    tasks moved to {@code archived_tasks}
+ * @param liveComments     comments in the live {@code comments} table
+ * @param archivedComments comments moved to {@code archived_comments}
+ */
+public record TableStatsDto(
+        long liveTasks,
+        long archivedTasks,
+        long liveComments,
+        long archivedComments
+) {
+}
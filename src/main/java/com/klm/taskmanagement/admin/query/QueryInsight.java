@@ -0,0 +1,71 @@
+package com.klm.taskmanagement.admin.query;
+
+import com.klm.taskmanagement.admin.dto.QueryInsightDto;
+import com.klm.taskmanagement.admin.dto.QueryStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads Hibernate's runtime statistics ({@code hibernate.generate_statistics=true})
+ * and ranks the queries executed so far.
+ */
+@Component
+public class QueryInsight {
+
+    private final Statistics statistics;
+
+    /**
+     * Creates the component.
+     *
+     * @param entityManagerFactory the JPA entity manager factory backed by Hibernate
+     */
+    public QueryInsight(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Returns the overall statistics and the top queries by maximum time and by execution count.
+     *
+     * @param top how many queries to return in each ranking
+     * @return the statistics snapshot
+     */
+    public QueryInsightDto snapshot(int top) {
+        List<QueryStatsDto> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> QueryStatsDto.of(query, statistics.getQueryStatistics(query)))
+                .toList();
+        return new QueryInsightDto(
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getCollectionLoadCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                rank(queries, Comparator.comparingLong(QueryStatsDto::maxTimeMs), top),
+                rank(queries, Comparator.comparingLong(QueryStatsDto::executionCount), top));
+    }
+
+    /**
+     * Clears all statistics, e.g. before measuring a specific workload.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    private static List<QueryStatsDto> rank(List<QueryStatsDto> queries, Comparator<QueryStatsDto> order, int top) {
+        return queries.stream()
+                .sorted(order.reversed())
+                .limit(Math.max(0, top))
+                .toList();
+    }
+}
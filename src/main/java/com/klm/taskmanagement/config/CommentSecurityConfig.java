@@ -1,22 +1,47 @@
 package com.klm.taskmanagement.config;
 
-import com.klm.taskmanagement.task.entity.Comment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.klm.taskmanagement.task.repository.CommentRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
+import java.time.Duration;
 
 /**
  * Security component used to evaluate access permissions for comment-related actions.
  * <p>
  * This is used in Spring Security expressions (e.g., { @PreAuthorize})
  * to ensure that users can only modify or delete their own comments unless they are admins.
+ * <p>
+ * Ownership is answered by a single query for the author's username rather than loading the
+ * comment with its task, author and roles. The username is cached per comment, since a comment's
+ * author never changes, and compared in memory, so one entry serves every caller and missing
+ * comments are never cached. Deleted comments are evicted explicitly, and all entries are
+ * dropped when a user is renamed.
  */
 @Component("commentSecurity")
-@RequiredArgsConstructor
 public class CommentSecurityConfig {
     private final CommentRepository commentRepository;
+    private final Cache<Long, String> authors;
+
+    /**
+     * Creates the component.
+     *
+     * @param commentRepository repository used for the ownership query
+     * @param maxSize           maximum number of cached comment authors
+     * @param ttl               how long a cached author is reused
+     */
+    public CommentSecurityConfig(CommentRepository commentRepository,
+                                 @Value("${security.comment-ownership-cache.max-size:10000}") long maxSize,
+                                 @Value("${security.comment-ownership-cache.ttl:PT30S}") Duration ttl) {
+        this.commentRepository = commentRepository;
+        this.authors = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
     /**
      * Checks whether the user identified by the given username is the author of the specified comment.
      *
@@ -25,10 +50,26 @@ public class CommentSecurityConfig {
      * @return {@code true} if the user is the author of the comment; {@code false} otherwise
      */
     public boolean isCommentAuthor(Long commentId, String username) {
-        Optional<Comment> optionalComment = commentRepository.findById(commentId);
+        if (commentId == null || username == null) {
+            return false;
+        }
+        return username.equals(authors.get(commentId,
+                id -> commentRepository.findAuthorUsernameById(id).orElse(null)));
+    }
 
-        return optionalComment
-                .map(comment -> comment.getAuthor().getUsername().equals(username))
-                .orElse(false);
+    /**
+     * Drops the cached author of a comment, e.g. after it has been deleted.
+     *
+     * @param commentId the ID of the comment
+     */
+    public void evict(Long commentId) {
+        authors.invalidate(commentId);
+    }
+
+    /**
+     * Drops every cached author, e.g. after a user has been renamed and their old name may be taken again.
+     */
+    public void evictAll() {
+        authors.invalidateAll();
     }
 }
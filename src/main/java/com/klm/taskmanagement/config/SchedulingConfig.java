@@ -0,0 +1,13 @@
+package com.klm.taskmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task execution for background maintenance jobs
+ * (e.g. purging expired token revocations).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
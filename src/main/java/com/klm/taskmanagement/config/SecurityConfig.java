@@ -1,13 +1,17 @@
 // Package for Spring Security configuration specific to the user module
 package com.klm.taskmanagement.config;
 
+import com.klm.taskmanagement.security.CachingUserInfoService;
 import com.klm.taskmanagement.security.CustomAccessDeniedHandler;
 import com.klm.taskmanagement.security.JwtAuthenticateFilter;
+import com.klm.taskmanagement.security.PasswordRehashService;
 import com.klm.taskmanagement.security.UnauthorizedAccessHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -38,7 +42,8 @@ public class SecurityConfig {
      * - Disables CSRF (useful for APIs and H2 console)
      * - Disables frame options to allow H2 console UI
      * - Sets session to stateless (JWT-based authentication)
-     * - Permits public endpoints (auth, Swagger, H2)
+     * - Permits public endpoints (auth, Swagger, H2, health)
+     * - Restricts the Prometheus scrape endpoint to admins
      * - Secures all other requests
      * - Adds custom JWT filter before Spring’s UsernamePasswordAuthenticationFilter
      */
@@ -63,8 +68,11 @@ public class SecurityConfig {
                                     "/webjars/**",
                                     "/test",
                                     "/ws/**",
+                                    "/actuator/health",
                                     "/"  // home or root
                             ).permitAll()  // Publicly accessible
+                            // Metrics reveal endpoints, traffic and internals; the scraper authenticates as an admin
+                            .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
 
                             .anyRequest().authenticated()  // All other endpoints require authentication
                     )
@@ -87,11 +95,30 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Provides the authentication provider used for login.
+     * <p>
+     * Declared explicitly so that logins resolve users through the caching
+     * {@link CachingUserInfoService} rather than the uncached database lookup.
+     * Stored hashes weaker than the configured strength are re-encoded after a
+     * successful login via {@link PasswordRehashService}.
+     */
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(CachingUserInfoService userDetailsService,
+                                                           PasswordEncoder passwordEncoder,
+                                                           PasswordRehashService passwordRehashService) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(passwordRehashService);
+        return provider;
+    }
+
     /**
      * Provides a BCrypt password encoder for hashing user passwords.
+     * The cost factor is configurable via {@code security.password.bcrypt-strength}.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.klm.taskmanagement.config;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs SQL statements slower than {@code app.query-insight.slow-query-threshold},
+ * with their bound parameters, by wrapping the DataSource in a datasource-proxy.
+ * <p>
+ * Only statements that cross the threshold are logged (logger
+ * {@code net.ttddyy.dsproxy.listener.logging.SLF4JSlowQueryListener}, level WARN);
+ * set the threshold to {@code 0} to turn the proxy off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-insight.slow-query-threshold")
+public class SlowQueryLogConfig {
+
+    /**
+     * Wraps the application DataSource once it has been created.
+     *
+     * @param environment source of the slow query threshold
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(Environment environment) {
+        Duration threshold = environment.getRequiredProperty("app.query-insight.slow-query-threshold", Duration.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || threshold.isZero()) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .logSlowQueryBySlf4j(threshold.toMillis(), TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN)
+                        .build();
+            }
+        };
+    }
+}
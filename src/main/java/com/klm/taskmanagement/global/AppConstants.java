@@ -18,6 +18,8 @@ public class AppConstants {
     // ===User Success Messages ===
     public static final String USER_REGISTER = "User registered successfully";
     public static final String USER_LOGIN = "Login successfully";
+    public static final String USER_LOGOUT = "Logged out successfully";
+    public static final String TOKEN_REFRESH = "Token refreshed successfully";
     public static final String ROLE_UPDATE = "user role has been updated";
     public static final String USER_LIST = "Fetch user successfully";
     public static final String USER_UPDATE = "User updated successfully";
@@ -29,21 +31,41 @@ public class AppConstants {
     public static final String USER_NOT_AVAILABLE= "No user available for assigned user id ";
     public static final String TASK_NOT_FOUND = "Task not found with ID: ";
     public static final String INVALID_CREDENTIALS = "Invalid username or password";
+    public static final String LOGIN_RATE_LIMITED = "Too many login attempts. Please try again later.";
+    public static final String LOGIN_BUSY = "Login service is busy. Please try again later.";
+    public static final String INVALID_REFRESH_TOKEN = "Invalid or expired refresh token";
+    public static final String REFRESH_TOKEN_REUSED = "Refresh token has already been used; please log in again";
     public static final String EMAIL_EXISTS = "Email already in use";
     public static final String USERNAME_EXISTS = "Username already in use";
     public static final String USERNAME_EMAIL_EXISTS = "Username or Email already exists";
     public static final String ACCESS_DENIED = "ROLE_USER are not allowed to modify.";
     public static final String ROLE_USER_DELETE= "ROLE_USER are not allowed to delete.";
+    public static final String USER_IN_USE = "User still has assigned tasks or comments; reassign or delete them first.";
     public static final String CONFLICT_EXCEPTION = "Version mismatch: This task was modified by another user.";
+    public static final String UNKNOWN_FIELDS = "Unknown field(s) requested: ";
+    public static final String EMPTY_FIELDS = "At least one field must be requested";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor";
+    public static final String PRECONDITION_FAILED = "Task was modified by another user; reload it and retry.";
+    public static final String INVALID_IF_MATCH = "If-Match must be a task version, e.g. \"3\"";
+    public static final String INVALID_MERGE_PATCH = "Merge patch must be a JSON object";
+    public static final String UNKNOWN_PATCH_FIELDS = "Unknown field(s) in patch: ";
+    public static final String INVALID_PATCH_VALUE = "Invalid value for field: ";
     // ===Task Success Messages ===
     public static final String TASK_CREATED = "Task created successfully";
     public static final String TASK_FETCH = "Fetch task successfully";
     public static final String TASK_UPDATE = "Task updated successfully";
     public static final String TASK_DELETE = "Task deleted successfully";
+    public static final String TASK_HISTORY_FETCH = "Fetch task history successfully";
     // ===Comment Messages ===
     public static final String COMMENT_CREATED = "Comment created successfully";
     public static final String COMMENT_FETCH = "Fetch Comment successfully";
     public static final String COMMENT_DELETE = "Comment deleted successfully";
+    // ===Admin Messages ===
+    public static final String CACHE_STATS_FETCH = "Fetch cache statistics successfully";
+    public static final String LOGIN_STATS_FETCH = "Fetch login statistics successfully";
+    public static final String TABLE_STATS_FETCH = "Fetch table statistics successfully";
+    public static final String QUERY_STATS_FETCH = "Fetch query statistics successfully";
+    public static final String QUERY_STATS_RESET = "Query statistics reset successfully";
 
 
     private AppConstants() {
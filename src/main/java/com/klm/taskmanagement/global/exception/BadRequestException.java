@@ -0,0 +1,17 @@
+package com.klm.taskmanagement.global.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception for malformed client requests (HTTP 400).
+ * Used when request parameters are syntactically valid but cannot be honoured,
+ * e.g. an unknown field name in a sparse fieldset.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
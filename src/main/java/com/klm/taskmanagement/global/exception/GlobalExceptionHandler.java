@@ -8,6 +8,7 @@ package com.klm.taskmanagement.global.exception;
 import com.klm.taskmanagement.global.AppConstants;
 import com.klm.taskmanagement.global.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -76,6 +77,26 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Handles constraint violations raised outside request body binding,
+     * e.g. by the individually validated fields of a merge patch.
+     * Returns HTTP 400 Bad Request with one message per invalid field.
+     *
+     * @param ex The ConstraintViolationException exception.
+     * @return ResponseEntity with validation error messages.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConstraintViolation(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+
+        return ResponseEntity.badRequest().body(
+                ApiResponse.error(400, "Validation failed", errors)
+        );
+    }
+
     /**
      * Handles all other exceptions not specifically handled by other methods.
      * Important:
@@ -113,6 +134,54 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(ApiResponse.error(409,ex.getMessage(),null));
     }
+    /**
+     * Handles {@link PreconditionFailedException} thrown when a conditional update
+     * ({@code If-Match}) targets a version that has since changed.
+     *
+     * @param ex the PreconditionFailedException containing the error message
+     * @return a ResponseEntity with {@link ApiResponse} wrapping the error details and HTTP 412 status
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePreconditionFailed(PreconditionFailedException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiResponse.error(412, ex.getMessage(), null));
+    }
+    /**
+     * Handles {@link BadRequestException} thrown when request parameters cannot be honoured
+     * (e.g. unknown fields in a sparse fieldset).
+     *
+     * @param ex the BadRequestException containing the error message
+     * @return a ResponseEntity with {@link ApiResponse} wrapping the error details and HTTP 400 status
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBadRequest(BadRequestException ex) {
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error(400, ex.getMessage(), null));
+    }
+    /**
+     * Handles {@link TooManyRequestsException} thrown when a client is throttled,
+     * e.g. by the login rate limiter or a saturated login pool.
+     *
+     * @param ex the TooManyRequestsException containing the error message
+     * @return a ResponseEntity with {@link ApiResponse} wrapping the error details and HTTP 429 status
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ApiResponse.error(429, ex.getMessage(), null));
+    }
+    /**
+     * Handles {@link UnauthorizedException} thrown when a non-password credential is rejected,
+     * e.g. an unknown, expired or reused refresh token.
+     *
+     * @param ex the UnauthorizedException containing the error message
+     * @return a ResponseEntity with {@link ApiResponse} wrapping the error details and HTTP 401 status
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUnauthorized(UnauthorizedException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error(401, ex.getMessage(), null));
+    }
     /**
      * Handles {@link BadCredentialsException} thrown during authentication failures.
      * <p>
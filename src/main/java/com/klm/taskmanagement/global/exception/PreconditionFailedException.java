@@ -0,0 +1,16 @@
+package com.klm.taskmanagement.global.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception for failed request preconditions (HTTP 412).
+ * Used when an {@code If-Match} version no longer matches the stored resource.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
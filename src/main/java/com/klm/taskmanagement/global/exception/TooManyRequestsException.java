@@ -0,0 +1,16 @@
+package com.klm.taskmanagement.global.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception for throttled requests (HTTP 429).
+ * Used when a client exceeds a rate limit or a bounded resource is saturated.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
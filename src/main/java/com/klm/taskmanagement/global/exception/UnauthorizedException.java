@@ -0,0 +1,16 @@
+package com.klm.taskmanagement.global.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception for rejected credentials other than username/password (HTTP 401),
+ * e.g. an unknown, expired or reused refresh token.
+ */
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * This package contains the metrics instrumentation
+ * of the task management system.
+ */
+package com.klm.taskmanagement.global.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the application services ({@code TaskServiceImpl},
+ * {@code CommentServiceImpl}, {@code UserServiceImpl}, ...) and counts their failures.
+ * <p>
+ * Publishes {@value #TIMER} (tags {@code class}, {@code method}, {@code outcome}) and
+ * {@value #ERRORS} (tags {@code class}, {@code method}, {@code exception}). Histogram buckets
+ * and SLOs are configured with {@code management.metrics.distribution.*} properties.
+ * Runs outside the transaction advice, so the recorded time includes the commit.
+ * Repository calls are timed by Spring Data's own {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String TIMER = "app.service.invocations";
+    static final String ERRORS = "app.service.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Records the duration and outcome of a service method call.
+     *
+     * @param joinPoint the intercepted call
+     * @return the method's result
+     * @throws Throwable whatever the method throws, unchanged
+     */
+    @Around("execution(public * com.klm.taskmanagement..service..*(..)) "
+            + "&& @within(org.springframework.stereotype.Service)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            Counter.builder(ERRORS)
+                    .description("Failed service method calls")
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .description("Service method latency")
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
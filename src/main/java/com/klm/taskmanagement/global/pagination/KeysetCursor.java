@@ -0,0 +1,55 @@
+/**
+ * This package contains reusable pagination helpers
+ * for the task management system.
+ */
+package com.klm.taskmanagement.global.pagination;
+
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a result ordered by {@code (createdAt, id)}.
+ * <p>
+ * The next page starts strictly after this position, so it is found with an index seek
+ * instead of skipping {@code OFFSET} rows, and rows inserted meanwhile never shift pages.
+ *
+ * @param createdAt the creation timestamp of the last row returned
+ * @param id        the ID of the last row returned, breaking ties on {@code createdAt}
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor as a URL-safe string for clients.
+     *
+     * @return the opaque cursor string
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor string
+     * @return the decoded cursor
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException(AppConstants.INVALID_CURSOR);
+        }
+    }
+}
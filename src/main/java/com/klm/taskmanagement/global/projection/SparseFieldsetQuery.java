@@ -0,0 +1,147 @@
+/**
+ * This package contains reusable query helpers that build projections
+ * over JPA entities for the task management system.
+ */
+package com.klm.taskmanagement.global.projection;
+
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes paginated Criteria queries that select only a client-requested subset
+ * of an entity's columns (a "sparse fieldset").
+ * <p>
+ * Each caller exposes a whitelist mapping the public DTO field name to the entity
+ * attribute path (e.g. {@code "taskId" -> "task.id"}). Only the requested paths are
+ * placed in the SQL select list, so unrequested columns are neither read from the
+ * database nor serialized in the response.
+ */
+@Component
+@RequiredArgsConstructor
+public class SparseFieldsetQuery {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Runs a paged projection query over the given entity.
+     *
+     * @param entityType the JPA entity to query
+     * @param selectable whitelist of DTO field name to entity attribute path
+     * @param fields     the fields requested by the client, in response order
+     * @param filters    equality filters keyed by entity attribute path (may be empty)
+     * @param pageable   paging and sorting information
+     * @param <E>        the entity type
+     * @return a page of rows, each row mapping the requested field name to its value
+     * @throws BadRequestException if no fields or unknown fields are requested
+     */
+    public <E> Page<Map<String, Object>> findPage(Class<E> entityType,
+                                                  Map<String, String> selectable,
+                                                  Collection<String> fields,
+                                                  Map<String, Object> filters,
+                                                  Pageable pageable) {
+        List<String> columns = resolveFields(selectable, fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : columns) {
+            selections.add(path(root, selectable.get(column)).alias(column));
+        }
+        query.multiselect(selections)
+                .where(predicates(cb, root, filters))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String column : columns) {
+                row.put(column, tuple.get(column));
+            }
+            content.add(row);
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityType, filters));
+    }
+
+    /**
+     * Counts the rows matching the filters; only invoked when the page total cannot be derived.
+     */
+    private <E> long count(Class<E> entityType, Map<String, Object> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<E> root = countQuery.from(entityType);
+        countQuery.select(cb.count(root)).where(predicates(cb, root, filters));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    /**
+     * Validates the requested fields against the whitelist, preserving request order.
+     */
+    private List<String> resolveFields(Map<String, String> selectable, Collection<String> fields) {
+        List<String> columns = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty() || columns.contains(name)) {
+                continue;
+            }
+            if (selectable.containsKey(name)) {
+                columns.add(name);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException(AppConstants.UNKNOWN_FIELDS + String.join(", ", unknown));
+        }
+        if (columns.isEmpty()) {
+            throw new BadRequestException(AppConstants.EMPTY_FIELDS);
+        }
+        return columns;
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, Root<?> root, Map<String, Object> filters) {
+        return filters.entrySet().stream()
+                .map(filter -> cb.equal(path(root, filter.getKey()), filter.getValue()))
+                .toArray(Predicate[]::new);
+    }
+
+    /**
+     * Resolves a dotted attribute path (e.g. {@code task.id}) against the root.
+     * Foreign-key ids of to-one associations are read from the owning table without a join.
+     */
+    private Path<Object> path(Root<?> root, String attributePath) {
+        Path<Object> path = null;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path == null ? root.get(attribute) : path.get(attribute);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * This package contains the soft-delete policy and the background purge
+ * of soft-deleted rows for the task management system.
+ */
+package com.klm.taskmanagement.global.softdelete;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether deletes of tasks, comments and users are soft or hard.
+ * <p>
+ * In soft mode a delete is a single-row UPDATE setting {@code deleted_at}. Entities carry an
+ * {@code @SQLRestriction} so soft-deleted rows disappear from every query, and
+ * {@link SoftDeletePurgeJob} removes them physically later. In hard mode rows are deleted
+ * within the request transaction, as before.
+ */
+@Component
+public class DeletionPolicy {
+
+    private final boolean soft;
+
+    /**
+     * Creates the policy.
+     *
+     * @param mode {@code soft} or {@code hard}
+     */
+    public DeletionPolicy(@Value("${app.delete.mode:hard}") String mode) {
+        this.soft = "soft".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Returns whether deletes should only mark rows as deleted.
+     */
+    public boolean isSoft() {
+        return soft;
+    }
+}
@@ -0,0 +1,133 @@
+package com.klm.taskmanagement.global.softdelete;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Physically removes soft-deleted rows in bounded batches.
+ * <p>
+ * Runs on a cron schedule meant for quiet hours. Each batch selects at most
+ * {@code batch-size} IDs and deletes them in its own short transaction, then pauses, so
+ * the purge never holds long locks or competes with request traffic. A run stops after
+ * {@code max-batches} batches and continues on the next schedule.
+ * <p>
+ * Rows are purged only after the retention period, and parents only once nothing
+ * references them: comments first, then tasks without comments, then users that no
+ * task or comment refers to.
+ */
+@Slf4j
+@Component
+public class SoftDeletePurgeJob {
+
+    private static final String SELECT_COMMENTS =
+            "SELECT id FROM comments WHERE deleted_at < :cutoff ORDER BY id FETCH FIRST :limit ROWS ONLY";
+    private static final String DELETE_COMMENTS = "DELETE FROM comments WHERE id IN (:ids)";
+
+    private static final String SELECT_TASKS =
+            "SELECT t.id FROM tasks t WHERE t.deleted_at < :cutoff "
+                    + "AND NOT EXISTS (SELECT 1 FROM comments c WHERE c.task_id = t.id) "
+                    + "ORDER BY t.id FETCH FIRST :limit ROWS ONLY";
+    private static final String DELETE_TASKS = "DELETE FROM tasks WHERE id IN (:ids)";
+
+    private static final String SELECT_USERS =
+            "SELECT u.id FROM users u WHERE u.deleted_at < :cutoff "
+                    + "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.assigned_user_id = u.id) "
+                    + "AND NOT EXISTS (SELECT 1 FROM comments c WHERE c.user_id = u.id) "
+                    + "ORDER BY u.id FETCH FIRST :limit ROWS ONLY";
+    private static final List<String> DELETE_USERS = List.of(
+            "DELETE FROM refresh_tokens WHERE user_id IN (:ids)",
+            "DELETE FROM user_roles WHERE user_id IN (:ids)",
+            "DELETE FROM users WHERE id IN (:ids)");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeletionPolicy deletionPolicy;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+    private final Duration retention;
+
+    /**
+     * Creates the purge job.
+     *
+     * @param jdbcTemplate        JDBC access for the batched deletes
+     * @param transactionTemplate runs each batch in its own transaction
+     * @param deletionPolicy      the purge only runs in soft-delete mode
+     * @param batchSize           maximum rows deleted per batch
+     * @param maxBatches          maximum batches per table and run
+     * @param pause               pause between batches, to throttle the purge
+     * @param retention           how long soft-deleted rows are kept before purging
+     */
+    public SoftDeletePurgeJob(NamedParameterJdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              DeletionPolicy deletionPolicy,
+                              @Value("${app.purge.batch-size:500}") int batchSize,
+                              @Value("${app.purge.max-batches:200}") int maxBatches,
+                              @Value("${app.purge.pause:PT0.2S}") Duration pause,
+                              @Value("${app.purge.retention:P7D}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.deletionPolicy = deletionPolicy;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+        this.retention = retention;
+    }
+
+    /**
+     * Purges soft-deleted comments, tasks and users whose retention has elapsed.
+     */
+    @Scheduled(cron = "${app.purge.cron:0 */15 1-5 * * *}")
+    public void purge() {
+        if (!deletionPolicy.isSoft()) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        int comments = purgeTable(SELECT_COMMENTS, List.of(DELETE_COMMENTS), cutoff);
+        int tasks = purgeTable(SELECT_TASKS, List.of(DELETE_TASKS), cutoff);
+        int users = purgeTable(SELECT_USERS, DELETE_USERS, cutoff);
+        if (comments + tasks + users > 0) {
+            log.info("Purged soft-deleted rows: {} comments, {} tasks, {} users", comments, tasks, users);
+        }
+    }
+
+    private int purgeTable(String selectIds, List<String> deletes, Timestamp cutoff) {
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(selectIds,
+                        new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Long.class);
+                if (!ids.isEmpty()) {
+                    MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+                    deletes.forEach(sql -> jdbcTemplate.update(sql, params));
+                }
+                return ids.size();
+            });
+            purged += deleted == null ? 0 : deleted;
+            if (deleted == null || deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
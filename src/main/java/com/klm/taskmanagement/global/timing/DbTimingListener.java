@@ -0,0 +1,23 @@
+package com.klm.taskmanagement.global.timing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener adding the execution time of every JDBC statement
+ * to the {@link RequestTiming#DB} phase of the current request.
+ * Registered through {@code hibernate.session.events.auto}; one instance per session.
+ */
+public class DbTimingListener extends BaseSessionEventListener {
+
+    private long statementStartNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.record(RequestTiming.DB, System.nanoTime() - statementStartNanos);
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * This package contains the per-request timing breakdown
+ * (Server-Timing header and slow request log) of the task management system.
+ */
+package com.klm.taskmanagement.global.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Phase durations of the request being handled on the current thread.
+ * <p>
+ * {@link ServerTimingFilter} opens a context per request and code on the request path adds
+ * to it with {@link #record(String, long)}, e.g. JWT verification, the user lookup or a SQL
+ * statement. Recording is a no-op when no context is open, so instrumented code also runs
+ * unchanged in background jobs and tests. A context is confined to its thread and never shared.
+ */
+public final class RequestTiming {
+
+    public static final String JWT = "jwt";
+    public static final String USER = "user";
+    public static final String DB = "db";
+    public static final String SERIALIZATION = "ser";
+    public static final String APP = "app";
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private long bodyWriteStartNanos;
+
+    private RequestTiming() {
+    }
+
+    /**
+     * Opens a context for the current thread.
+     *
+     * @return the new context
+     */
+    static RequestTiming open() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Closes the current thread's context.
+     */
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the current thread's context, or {@code null} outside a timed request.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds a duration to a phase of the current request, if one is being timed.
+     *
+     * @param phase the phase name, e.g. {@link #JWT}
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public static void record(String phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phases.computeIfAbsent(phase, name -> new Phase()).add(nanos);
+        }
+    }
+
+    /**
+     * Marks the start of response body serialization.
+     */
+    void markBodyWriteStart() {
+        bodyWriteStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Records the serialization phase as the time since {@link #markBodyWriteStart()}.
+     */
+    void markBodyWriteEnd() {
+        if (bodyWriteStartNanos != 0) {
+            phases.computeIfAbsent(SERIALIZATION, name -> new Phase()).add(System.nanoTime() - bodyWriteStartNanos);
+            bodyWriteStartNanos = 0;
+        }
+    }
+
+    /**
+     * Returns the time since the request started, in nanoseconds.
+     */
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the recorded phases and the elapsed time as a {@code Server-Timing} header value,
+     * e.g. {@code jwt;dur=0.41, db;dur=2.87;desc="3 statements", app;dur=4.02}.
+     */
+    String toHeaderValue() {
+        StringJoiner header = new StringJoiner(", ");
+        phases.forEach((name, phase) -> {
+            String entry = name + ";dur=" + millis(phase.nanos);
+            header.add(phase.count > 1 ? entry + ";desc=\"" + phase.count + " calls\"" : entry);
+        });
+        header.add(APP + ";dur=" + millis(elapsedNanos()));
+        return header.toString();
+    }
+
+    /**
+     * Formats the recorded phases as {@code key=value} pairs for a structured log line,
+     * e.g. {@code jwt_ms=0.41 db_ms=2.87 db_count=3}.
+     */
+    String toLogFields() {
+        StringJoiner fields = new StringJoiner(" ");
+        phases.forEach((name, phase) -> {
+            fields.add(name + "_ms=" + millis(phase.nanos));
+            fields.add(name + "_count=" + phase.count);
+        });
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Accumulated duration and number of occurrences of one phase.
+     */
+    private static final class Phase {
+        private long nanos;
+        private int count;
+
+        private void add(long elapsed) {
+            nanos += elapsed;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.klm.taskmanagement.global.timing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the start of response body serialization and, when enabled, adds the
+ * {@code Server-Timing} header while the response headers can still be changed.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String HEADER = "Server-Timing";
+
+    private final boolean headerEnabled;
+
+    /**
+     * Creates the advice.
+     *
+     * @param headerEnabled whether to send the {@code Server-Timing} header (opt-in)
+     */
+    public ServerTimingAdvice(@Value("${app.server-timing.header-enabled:false}") boolean headerEnabled) {
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            if (headerEnabled) {
+                response.getHeaders().add(HEADER, timing.toHeaderValue());
+            }
+            timing.markBodyWriteStart();
+        }
+        return body;
+    }
+}
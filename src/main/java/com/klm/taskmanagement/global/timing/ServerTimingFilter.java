@@ -0,0 +1,61 @@
+package com.klm.taskmanagement.global.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Opens a {@link RequestTiming} context for every request, ahead of Spring Security,
+ * so JWT verification and the user lookup are included.
+ * <p>
+ * When {@code app.server-timing.header-enabled} is true, the phases recorded before the
+ * response body is written are sent as a {@code Server-Timing} header (see {@link ServerTimingAdvice}).
+ * Requests slower than {@code app.server-timing.log-threshold} are logged with every phase,
+ * including serialization, which finishes after the headers have been sent.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final long logThresholdNanos;
+
+    /**
+     * Creates the filter.
+     *
+     * @param logThreshold requests taking longer than this are logged with their breakdown
+     */
+    public ServerTimingFilter(@Value("${app.server-timing.log-threshold:PT1S}") Duration logThreshold) {
+        this.logThresholdNanos = logThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timing.markBodyWriteEnd();
+            long elapsed = timing.elapsedNanos();
+            RequestTiming.close();
+            if (elapsed > logThresholdNanos) {
+                log.warn("Slow request method={} uri={} status={} total_ms={} {}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        String.format(Locale.ROOT, "%.2f", elapsed / 1_000_000.0), timing.toLogFields());
+            }
+        }
+    }
+}
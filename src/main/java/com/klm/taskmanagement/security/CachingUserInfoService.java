@@ -0,0 +1,85 @@
+package com.klm.taskmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Caching layer in front of {@link UserInfoService}.
+ * <p>
+ * Both login (through the {@code AuthenticationManager}) and every authenticated request
+ * resolve the user by username. This service keeps recently loaded users in a bounded,
+ * time-limited cache so that steady traffic does not query the {@code users} table on every call.
+ * Entries are evicted explicitly whenever a user is updated, has roles changed or is deleted.
+ * Unknown usernames are not cached.
+ */
+@Service
+@Primary
+public class CachingUserInfoService implements UserDetailsService {
+
+    private final UserInfoService delegate;
+    private final Cache<String, UserDetails> cache;
+
+    /**
+     * Creates the caching user details service.
+     *
+     * @param delegate the database-backed user details service
+     * @param maxSize  maximum number of cached users
+     * @param ttl      time after which a cached user is reloaded
+     */
+    public CachingUserInfoService(UserInfoService delegate,
+                                  @Value("${security.user-cache.max-size:10000}") long maxSize,
+                                  @Value("${security.user-cache.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached user, loading it from the database on a miss.
+     *
+     * @param username the username to resolve
+     * @return the user details
+     * @throws UsernameNotFoundException if no such user exists
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return cache.get(username, delegate::loadUserByUsername);
+    }
+
+    /**
+     * Removes a user from the cache so the next lookup reads fresh data.
+     *
+     * @param username the username to evict
+     */
+    public void evict(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    /**
+     * Returns hit/miss statistics for monitoring.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the approximate number of cached users.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -3,14 +3,18 @@
  */
 package com.klm.taskmanagement.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.klm.taskmanagement.global.timing.RequestTiming;
+import com.klm.taskmanagement.security.revocation.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,16 +24,48 @@ import java.io.IOException;
 /**
  * JWT Authentication filter that intercepts HTTP requests once per request.
  * <p>
- * It extracts the JWT token from the Authorization header, validates it,
- * retrieves user details, and sets the authentication in the security context
- * if the token is valid.
+ * It extracts the JWT token from the Authorization header, verifies it exactly once
+ * (served from the verified-token cache when possible), retrieves user details,
+ * and sets the authentication in the security context if the token is valid.
+ * <p>
+ * With {@code security.auth.mode=claims} the principal is built straight from the
+ * verified {@code sub} and {@code roles} claims, so authentication needs no database access.
+ * In both modes tokens issued before a role change or user deletion are rejected
+ * via {@link TokenInvalidationRegistry}, and revoked tokens via {@link TokenRevocationService},
+ * whose in-memory Bloom filter answers the common "not revoked" case without I/O.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticateFilter extends OncePerRequestFilter {
 
     private final JwtTokenGenerator jwtTokenGenerator;
-    private final UserInfoService userInfoService;
+    private final UserDetailsService userDetailsService;
+    private final TokenInvalidationRegistry tokenInvalidationRegistry;
+    private final TokenRevocationService tokenRevocationService;
+    // When true, the principal is built from verified claims without a database lookup
+    private final boolean claimsOnly;
+    // Stateless and thread-safe; shared instead of allocating one per request
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    /**
+     * Creates the filter.
+     *
+     * @param jwtTokenGenerator         verifies incoming tokens
+     * @param userDetailsService        loads user details in {@code database} mode (the caching service)
+     * @param tokenInvalidationRegistry rejects tokens issued before a role change or deletion
+     * @param tokenRevocationService    rejects individually revoked (logged out) tokens
+     * @param authMode                  {@code database} (default) or {@code claims}
+     */
+    public JwtAuthenticateFilter(JwtTokenGenerator jwtTokenGenerator,
+                                 UserDetailsService userDetailsService,
+                                 TokenInvalidationRegistry tokenInvalidationRegistry,
+                                 TokenRevocationService tokenRevocationService,
+                                 @Value("${security.auth.mode:database}") String authMode) {
+        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.userDetailsService = userDetailsService;
+        this.tokenInvalidationRegistry = tokenInvalidationRegistry;
+        this.tokenRevocationService = tokenRevocationService;
+        this.claimsOnly = "claims".equalsIgnoreCase(authMode);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -43,17 +79,26 @@ public class JwtAuthenticateFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             // Extract JWT token from the header
             String token = authHeader.substring(7);
-            if (jwtTokenGenerator.validateToken(token)) {
-                // Extract username from the token
-                String username = jwtTokenGenerator.getUsernameFromToken(token);
-                // Load user details from username
-                UserDetails userDetails = userInfoService.loadUserByUsername(username);
+            // Verify once; the decoded token is reused for every claim lookup
+            long verifyStart = System.nanoTime();
+            DecodedJWT jwt = jwtTokenGenerator.resolveToken(token).orElse(null);
+            boolean valid = jwt != null
+                    && !tokenInvalidationRegistry.isInvalidated(jwt)
+                    && !tokenRevocationService.isRevoked(jwt);
+            RequestTiming.record(RequestTiming.JWT, System.nanoTime() - verifyStart);
+            if (valid) {
+                // Claims mode trusts the verified token; database mode loads the user by subject
+                long lookupStart = System.nanoTime();
+                UserDetails userDetails = claimsOnly
+                        ? UserInfoDetails.fromClaims(jwt)
+                        : userDetailsService.loadUserByUsername(jwt.getSubject());
+                RequestTiming.record(RequestTiming.USER, System.nanoTime() - lookupStart);
                 // Create authentication token for Spring Security context
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
                 // Set request details
-                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                auth.setDetails(detailsSource.buildDetails(request));
                 // Set authentication in the SecurityContext
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
@@ -10,34 +10,62 @@ package com.klm.taskmanagement.security;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Component responsible for generating and validating JWT tokens.
  * Uses the HMAC256 algorithm with a secret key loaded from application properties.
+ * <p>
+ * The signing algorithm and verifier are immutable and thread-safe, so they are built once
+ * at construction. Successfully verified tokens are kept in a {@link VerifiedTokenCache}
+ * until they expire, so repeated requests with the same token skip signature verification.
  */
 @Component
 public class JwtTokenGenerator {
-    // Secret key for signing JWT tokens (injected from application properties)
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenGenerator.class);
     // JWT expiration time in milliseconds (injected from application properties)
-    @Value("${jwt.expiration}")
-    private long jwtExpirationInMs;
+    private final long jwtExpirationInMs;
+    // Signing algorithm and verifier, reused across all requests
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    // Verified tokens keyed by token hash; null when caching is disabled
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Creates the token generator.
+     *
+     * @param jwtSecret         secret key for signing JWT tokens
+     * @param jwtExpirationInMs token lifetime in milliseconds
+     * @param cacheMaxSize      maximum number of verified tokens to cache; 0 disables the cache
+     */
+    public JwtTokenGenerator(@Value("${jwt.secret}") String jwtSecret,
+                             @Value("${jwt.expiration}") long jwtExpirationInMs,
+                             @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.algorithm = Algorithm.HMAC256(jwtSecret);
+        this.verifier = JWT.require(algorithm).build();
+        this.verifiedTokenCache = cacheMaxSize > 0 ? new VerifiedTokenCache(cacheMaxSize) : null;
+    }
     /**
      * Returns the signing key algorithm for JWT creation and validation.
      */
     public Algorithm getSigningKey() {
-        return Algorithm.HMAC256(jwtSecret);
+        return algorithm;
     }
     /**
      * Generates a JWT token with the username as subject and roles as claims.
+     * Each token carries a random {@code jti} so it can be revoked individually.
      *
      * @param userName the username to embed in the token subject
      * @param roles the roles to embed as claims in the token
@@ -45,11 +73,12 @@ public class JwtTokenGenerator {
      */
     public String generateToken(String userName, Set<String> roles) {
         return JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
                 .withSubject(userName)
                 .withClaim("roles", new ArrayList<>(roles))
                 .withIssuedAt(new Date())
                 .withExpiresAt(new Date(System.currentTimeMillis() + jwtExpirationInMs))
-                .sign(getSigningKey());
+                .sign(algorithm);
     }
     /**
      * Extracts the username (subject) from the JWT token.
@@ -73,14 +102,38 @@ public class JwtTokenGenerator {
     }
     /**
      * Verifies the token using the configured signing key.
+     * Previously verified, unexpired tokens are served from the cache.
      * Throws an exception if verification fails.
      *
      * @param token the JWT token string
      * @return the decoded JWT token
      */
     public DecodedJWT verifyToken(String token) {
-        JWTVerifier verifier = JWT.require(getSigningKey()).build();
-        return verifier.verify(token);
+        if (verifiedTokenCache == null) {
+            return verifier.verify(token);
+        }
+        DecodedJWT cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        DecodedJWT decoded = verifier.verify(token);
+        verifiedTokenCache.put(token, decoded);
+        return decoded;
+    }
+    /**
+     * Verifies the token once and returns its decoded form,
+     * or an empty Optional if the token is invalid or expired.
+     *
+     * @param token the JWT token string
+     * @return the decoded token if valid
+     */
+    public Optional<DecodedJWT> resolveToken(String token) {
+        try {
+            return Optional.of(verifyToken(token));
+        } catch (JWTVerificationException e) {
+            logger.debug("Invalid token: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
     /**
      * Validates the JWT token.
@@ -89,12 +142,12 @@ public class JwtTokenGenerator {
      * @return true if the token is valid, false otherwise
      */
     public boolean validateToken(String token) {
-        try{
-            verifyToken(token);
-            return true;
-        } catch (Exception e) {
-            System.err.println("Invalid Token"+ e.getMessage());
-            return false;
-        }
+        return resolveToken(token).isPresent();
+    }
+    /**
+     * Returns the verified-token cache, or {@code null} if caching is disabled.
+     */
+    public VerifiedTokenCache getVerifiedTokenCache() {
+        return verifiedTokenCache;
     }
 }
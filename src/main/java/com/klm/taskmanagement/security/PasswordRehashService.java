@@ -0,0 +1,42 @@
+package com.klm.taskmanagement.security;
+
+import com.klm.taskmanagement.user.entity.User;
+import com.klm.taskmanagement.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Persists transparently upgraded password hashes.
+ * <p>
+ * After a successful login, Spring Security's {@code DaoAuthenticationProvider} asks the
+ * password encoder whether the stored hash is weaker than the configured BCrypt strength.
+ * If it is, the provider re-encodes the just-verified raw password and calls this service,
+ * so hashes migrate to the new cost factor without any user action.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final CachingUserInfoService cachingUserInfoService;
+
+    /**
+     * Stores the re-encoded password and evicts the stale cached user.
+     *
+     * @param user        the authenticated user
+     * @param newPassword the password encoded with the current strength
+     * @return user details carrying the new hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        entity.setPassword(newPassword);
+        userRepository.save(entity);
+        cachingUserInfoService.evict(entity.getUsername());
+        return new UserInfoDetails(entity);
+    }
+}
@@ -0,0 +1,126 @@
+package com.klm.taskmanagement.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.klm.taskmanagement.security.revocation.TokenRevocationService;
+import com.klm.taskmanagement.security.revocation.UserTokenInvalidation;
+import com.klm.taskmanagement.security.revocation.UserTokenInvalidationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of per-user "not valid before" stamps.
+ * <p>
+ * When a user's roles change, the user is renamed or deleted, the user's stamp is set to the
+ * current second and every token issued at or before that second is rejected. This lets the
+ * claims-only authentication mode trust the {@code roles} claim without a database lookup,
+ * while still cutting off tokens whose claims have gone stale.
+ * <p>
+ * Stamps are persisted in {@code user_token_invalidations} within the caller's transaction and
+ * kept in memory for the per-request check. As with {@link TokenRevocationService}, a periodic
+ * sync copies stamps set on other nodes into memory, so a change takes effect everywhere
+ * within one sync interval.
+ * <p>
+ * JWT {@code iat} has one-second precision, so a token issued in the same second as the
+ * change is also rejected; the client simply logs in again. Stamps are dropped once they are
+ * older than the token lifetime, because every token they could reject has expired by then.
+ */
+@Slf4j
+@Component
+public class TokenInvalidationRegistry {
+
+    // Overlap between syncs so stamps committed late on other nodes are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    private final UserTokenInvalidationRepository userTokenInvalidationRepository;
+    private final Map<String, Long> notBeforeByUsername = new ConcurrentHashMap<>();
+    private final long jwtExpirationInSeconds;
+
+    private volatile Instant lastSync = Instant.now();
+
+    /**
+     * Creates the registry.
+     *
+     * @param userTokenInvalidationRepository persistent store of the stamps
+     * @param jwtExpirationInMs               access token lifetime
+     */
+    public TokenInvalidationRegistry(UserTokenInvalidationRepository userTokenInvalidationRepository,
+                                     @Value("${jwt.expiration}") long jwtExpirationInMs) {
+        this.userTokenInvalidationRepository = userTokenInvalidationRepository;
+        this.jwtExpirationInSeconds = Math.max(1, jwtExpirationInMs / 1000);
+    }
+
+    /**
+     * Invalidates all tokens issued to the given user up to now, on every node.
+     *
+     * @param username the token subject whose tokens should be rejected
+     */
+    public void invalidateUser(String username) {
+        long now = Instant.now().getEpochSecond();
+        userTokenInvalidationRepository.save(UserTokenInvalidation.builder()
+                .username(username)
+                .notBefore(Instant.ofEpochSecond(now))
+                .build());
+        notBeforeByUsername.merge(username, now, Math::max);
+        notBeforeByUsername.values().removeIf(stamp -> stamp < now - jwtExpirationInSeconds);
+    }
+
+    /**
+     * Checks whether a verified token was issued before its subject's claims changed.
+     *
+     * @param jwt the verified token
+     * @return {@code true} if the token must no longer be accepted
+     */
+    public boolean isInvalidated(DecodedJWT jwt) {
+        Long notBefore = notBeforeByUsername.get(jwt.getSubject());
+        if (notBefore == null) {
+            return false;
+        }
+        return jwt.getIssuedAt() == null || jwt.getIssuedAt().getTime() / 1000 <= notBefore;
+    }
+
+    /**
+     * Loads all stamps that can still reject a token once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Instant startedAt = Instant.now();
+        load(startedAt.minusSeconds(jwtExpirationInSeconds));
+        lastSync = startedAt;
+    }
+
+    /**
+     * Copies stamps set since the last sync (possibly by other nodes) into memory.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:PT30S}")
+    public void sync() {
+        Instant now = Instant.now();
+        load(lastSync.minus(SYNC_OVERLAP));
+        lastSync = now;
+    }
+
+    /**
+     * Deletes stamps older than the token lifetime.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:PT1H}",
+            initialDelayString = "${security.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        long cutoff = Instant.now().getEpochSecond() - jwtExpirationInSeconds;
+        int purged = userTokenInvalidationRepository.deleteStampedBefore(Instant.ofEpochSecond(cutoff));
+        notBeforeByUsername.values().removeIf(stamp -> stamp < cutoff);
+        log.info("Purged {} expired token invalidation stamps", purged);
+    }
+
+    private void load(Instant since) {
+        userTokenInvalidationRepository.findStampedSince(since).forEach(stamp ->
+                notBeforeByUsername.merge(stamp.getUsername(), stamp.getNotBefore().getEpochSecond(), Math::max));
+    }
+}
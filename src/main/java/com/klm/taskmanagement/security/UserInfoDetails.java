@@ -7,6 +7,7 @@
  */
 package com.klm.taskmanagement.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.klm.taskmanagement.user.entity.Role;
 import com.klm.taskmanagement.user.entity.User;
 import lombok.Data;
@@ -15,6 +16,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,6 +34,31 @@ public class UserInfoDetails implements UserDetails {
     public UserInfoDetails(User user) {
         this.user = user;
     }
+    /**
+     * Builds user details from the claims of an already verified token,
+     * without touching the database. The resulting user carries only
+     * the username and roles; it has no id, email or password.
+     *
+     * @param jwt the verified token
+     * @return user details for the token subject
+     */
+    public static UserInfoDetails fromClaims(DecodedJWT jwt) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        List<String> roleClaims = jwt.getClaim("roles").asList(String.class);
+        if (roleClaims != null) {
+            for (String roleClaim : roleClaims) {
+                for (Role role : Role.values()) {
+                    if (role.name().equals(roleClaim)) {
+                        roles.add(role);
+                    }
+                }
+            }
+        }
+        return new UserInfoDetails(User.builder()
+                .username(jwt.getSubject())
+                .roles(roles)
+                .build());
+    }
     /**
      * Returns the password used to authenticate the user.
      *
@@ -0,0 +1,119 @@
+package com.klm.taskmanagement.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of successfully verified JWTs.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the raw token (so raw bearer tokens are never
+ * retained in memory) and expire exactly at the token's {@code exp} claim. A cache hit
+ * therefore skips signature verification and claim parsing while never outliving the token.
+ * Only tokens that passed verification are ever stored.
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Cache<String, DecodedJWT> cache;
+
+    /**
+     * Creates a cache holding at most {@code maximumSize} verified tokens.
+     *
+     * @param maximumSize the maximum number of cached tokens
+     */
+    public VerifiedTokenCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the previously verified token, or {@code null} if absent or expired.
+     *
+     * @param token the raw JWT string
+     * @return the cached decoded token, or {@code null}
+     */
+    public DecodedJWT get(String token) {
+        return cache.getIfPresent(hash(token));
+    }
+
+    /**
+     * Stores a verified token until its expiry. Tokens without an {@code exp} claim are not cached.
+     *
+     * @param token   the raw JWT string
+     * @param decoded the verified token
+     */
+    public void put(String token, DecodedJWT decoded) {
+        if (decoded.getExpiresAt() != null) {
+            cache.put(hash(token), decoded);
+        }
+    }
+
+    /**
+     * Removes a token from the cache, e.g. after it has been revoked.
+     *
+     * @param token the raw JWT string
+     */
+    public void invalidate(String token) {
+        cache.invalidate(hash(token));
+    }
+
+    /**
+     * Returns hit/miss statistics for monitoring.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the approximate number of cached tokens.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    /**
+     * Expires each entry at the {@code exp} claim of its token.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT jwt, long currentTime) {
+            long remainingMs = jwt.getExpiresAt().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.klm.taskmanagement.security.login;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency aggregates for the login pipeline.
+ * Uses striped adders so recording never contends between login threads.
+ */
+@Component
+public class LoginMetrics {
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a completed password verification.
+     *
+     * @param success     whether the credentials were accepted
+     * @param elapsedNanos time from submission to completion
+     */
+    public void recordVerification(boolean success, long elapsedNanos) {
+        (success ? succeeded : failed).increment();
+        latencyNanos.add(elapsedNanos);
+        maxLatencyNanos.accumulate(elapsedNanos);
+    }
+
+    /**
+     * Records an attempt refused by rate limiting, a full queue or a queue timeout.
+     */
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the mean verification latency in milliseconds.
+     */
+    public double averageLatencyMillis() {
+        long completed = succeeded.sum() + failed.sum();
+        return completed == 0 ? 0 : (double) latencyNanos.sum() / completed / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the slowest verification latency in milliseconds.
+     */
+    public double maxLatencyMillis() {
+        return (double) maxLatencyNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,181 @@
+package com.klm.taskmanagement.security.login;
+
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password verification on a dedicated, bounded thread pool.
+ * <p>
+ * BCrypt is deliberately CPU-expensive. Running it on request threads lets a login burst
+ * or a credential-stuffing attempt starve every other endpoint. This pipeline isolates that
+ * work as follows:
+ * <ul>
+ *   <li>attempts are first checked against per-username failure and per-IP limits,</li>
+ *   <li>the request thread does not wait: the outcome is a future the controller returns,</li>
+ *   <li>verification runs on a fixed number of threads with a bounded queue,</li>
+ *   <li>work that waited in the queue longer than the queue timeout is dropped unstarted,</li>
+ *   <li>a full queue or a timeout is reported to the client as HTTP 429.</li>
+ * </ul>
+ */
+@Component
+public class LoginPipeline {
+
+    private final AuthenticationManager authenticationManager;
+    private final LoginRateLimiter rateLimiter;
+    private final LoginMetrics metrics;
+    private final ThreadPoolExecutor executor;
+    private final long queueTimeoutNanos;
+    private final long responseTimeoutNanos;
+
+    /**
+     * Creates the login pipeline.
+     *
+     * @param authenticationManager performs the actual credential check
+     * @param rateLimiter           per-username/IP attempt limits
+     * @param metrics               login throughput and latency recorder
+     * @param threads               number of verification threads (0 = available processors)
+     * @param queueCapacity         maximum number of waiting verifications
+     * @param queueTimeout          maximum time a verification may wait before it is dropped
+     */
+    public LoginPipeline(AuthenticationManager authenticationManager,
+                         LoginRateLimiter rateLimiter,
+                         LoginMetrics metrics,
+                         @Value("${security.login.threads:0}") int threads,
+                         @Value("${security.login.queue-capacity:100}") int queueCapacity,
+                         @Value("${security.login.queue-timeout:PT2S}") Duration queueTimeout) {
+        this.authenticationManager = authenticationManager;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new LoginThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        // Queue wait plus generous room for one BCrypt verification
+        this.responseTimeoutNanos = queueTimeoutNanos + TimeUnit.SECONDS.toNanos(5);
+    }
+
+    /**
+     * Queues the credentials for verification on the login pool.
+     * <p>
+     * The caller's thread does not wait for the verification: the returned future completes on
+     * the pool thread, so a servlet request returning it is released until the outcome is known.
+     *
+     * @param username the submitted username
+     * @param password the submitted raw password
+     * @param clientIp the client IP address, or {@code null} if unknown
+     * @return the successful authentication; fails with {@link TooManyRequestsException} if the
+     *         verification waited or took too long, or with an
+     *         {@link org.springframework.security.core.AuthenticationException} if the credentials are invalid
+     * @throws TooManyRequestsException if rate limited or the queue is full
+     */
+    public CompletableFuture<Authentication> authenticate(String username, String password, String clientIp) {
+        if (!rateLimiter.tryAcquire(username, clientIp)) {
+            metrics.recordRejected();
+            throw new TooManyRequestsException(AppConstants.LOGIN_RATE_LIMITED);
+        }
+        long submittedAt = System.nanoTime();
+        CompletableFuture<Authentication> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> verify(username, password, submittedAt, result));
+        } catch (RejectedExecutionException e) {
+            rateLimiter.release(username);
+            metrics.recordRejected();
+            throw new TooManyRequestsException(AppConstants.LOGIN_BUSY);
+        }
+        return result.orTimeout(responseTimeoutNanos, TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(busyOnTimeout(error)));
+    }
+
+    private void verify(String username, String password, long submittedAt, CompletableFuture<Authentication> result) {
+        if (result.isDone()) {
+            // Timed out while queued; already reported to the caller
+            rateLimiter.release(username);
+            return;
+        }
+        if (System.nanoTime() - submittedAt > queueTimeoutNanos) {
+            // The caller has most likely given up; don't spend CPU on it
+            rateLimiter.release(username);
+            metrics.recordRejected();
+            result.completeExceptionally(new TooManyRequestsException(AppConstants.LOGIN_BUSY));
+            return;
+        }
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password));
+            metrics.recordVerification(true, System.nanoTime() - submittedAt);
+            rateLimiter.recordSuccess(username);
+            result.complete(authentication);
+        } catch (RuntimeException e) {
+            metrics.recordVerification(false, System.nanoTime() - submittedAt);
+            // A wrong password keeps the reserved slot; any other outcome gives it back
+            if (!(e instanceof BadCredentialsException)) {
+                rateLimiter.release(username);
+            }
+            result.completeExceptionally(e);
+        }
+    }
+
+    private Throwable busyOnTimeout(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            metrics.recordRejected();
+            return new TooManyRequestsException(AppConstants.LOGIN_BUSY);
+        }
+        return cause;
+    }
+
+    /**
+     * Returns the number of verifications currently running.
+     */
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the number of verifications waiting for a thread.
+     */
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stops accepting logins and releases the pool threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Names the pool threads for thread dumps and marks them as daemons.
+     */
+    private static final class LoginThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "login-verify-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.klm.taskmanagement.security.login;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window login limiter: failed attempts per username and all attempts per client IP.
+ * <p>
+ * Each key gets a counter that lives for one window from its first hit. Attempts beyond
+ * a limit are refused before any password hashing happens, which caps the BCrypt work a
+ * single source can trigger (e.g. during credential stuffing) and the guesses against a
+ * single account.
+ * <p>
+ * An attempt reserves a username slot up front, so concurrent attempts cannot all pass the
+ * check before any of them fails. A wrong password keeps its slot; a successful login clears
+ * the username's count, and an attempt that never checked the password gives its slot back.
+ * So nobody can lock a user out by logging in as them with the right password, and the
+ * user's own logins never use up the limit.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Cache<String, AtomicInteger> attempts;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param window         length of the counting window
+     * @param maxPerUsername maximum failed attempts per username within a window
+     * @param maxPerIp       maximum attempts per client IP within a window
+     */
+    public LoginRateLimiter(@Value("${security.login.rate-limit.window:PT1M}") Duration window,
+                            @Value("${security.login.rate-limit.per-username:10}") int maxPerUsername,
+                            @Value("${security.login.rate-limit.per-ip:50}") int maxPerIp) {
+        this.attempts = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+        this.maxPerUsername = maxPerUsername;
+        this.maxPerIp = maxPerIp;
+    }
+
+    /**
+     * Reserves a username slot, records an attempt against the client IP and reports whether
+     * the attempt is within both limits. A refused attempt keeps no username slot.
+     * <p>
+     * An allowed attempt must end in {@link #recordSuccess}, in {@link #release} if the
+     * password was never checked, or in neither for a wrong password, which keeps the slot.
+     *
+     * @param username the username being logged in
+     * @param clientIp the client IP address, or {@code null} if unknown
+     * @return {@code true} if the attempt may proceed
+     */
+    public boolean tryAcquire(String username, String clientIp) {
+        boolean allowed = increment(usernameKey(username)) <= maxPerUsername;
+        if (clientIp != null) {
+            allowed &= increment("ip:" + clientIp) <= maxPerIp;
+        }
+        if (!allowed) {
+            release(username);
+        }
+        return allowed;
+    }
+
+    /**
+     * Clears the failed attempts of a username after it logged in.
+     *
+     * @param username the username that logged in
+     */
+    public void recordSuccess(String username) {
+        attempts.invalidate(usernameKey(username));
+    }
+
+    /**
+     * Gives back the username slot of an attempt whose password was never checked,
+     * e.g. because the login queue was full.
+     *
+     * @param username the username of the attempt
+     */
+    public void release(String username) {
+        AtomicInteger reserved = attempts.getIfPresent(usernameKey(username));
+        if (reserved != null) {
+            reserved.updateAndGet(count -> Math.max(0, count - 1));
+        }
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username;
+    }
+
+    private int increment(String key) {
+        return attempts.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+}
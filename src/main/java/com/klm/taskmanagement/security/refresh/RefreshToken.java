@@ -0,0 +1,69 @@
+package com.klm.taskmanagement.security.refresh;
+
+import com.klm.taskmanagement.user.entity.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity representing one issued refresh token.
+ * <p>
+ * Only the SHA-256 hash of the opaque token is stored. Every rotation issues a new token
+ * in the same family and marks the old one as used; presenting a used token again means it
+ * was copied, so the whole family is revoked.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RefreshToken {
+    /**
+     * Unique identifier for the refresh token row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Base64url SHA-256 hash of the opaque token handed to the client.
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+    /**
+     * Identifier shared by all tokens descending from the same login.
+     */
+    @Column(nullable = false, length = 36)
+    private String familyId;
+    /**
+     * The user the token was issued to.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+    /**
+     * When the token was issued.
+     */
+    @Column(nullable = false)
+    private Instant issuedAt;
+    /**
+     * When the token stops being accepted.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+    /**
+     * When the token was exchanged for a new one; null while unused.
+     */
+    private Instant usedAt;
+    /**
+     * When the token's family was revoked; null while active.
+     */
+    private Instant revokedAt;
+}
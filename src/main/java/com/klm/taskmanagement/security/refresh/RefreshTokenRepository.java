@@ -0,0 +1,65 @@
+package com.klm.taskmanagement.security.refresh;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link RefreshToken} entities.
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    /**
+     * Finds a refresh token by hash, fetching its user (and roles) in the same query.
+     *
+     * @param tokenHash the hash of the presented token
+     * @return the token if it exists
+     */
+    @Query("select r from RefreshToken r join fetch r.user where r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Atomically marks an active token as used. Returns 0 if another request used it first.
+     *
+     * @param id  the token id
+     * @param now the current instant
+     * @return the number of updated rows (0 or 1)
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now where r.id = :id and r.usedAt is null and r.revokedAt is null")
+    int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Revokes every still-active token of a family.
+     *
+     * @param familyId the family to revoke
+     * @param now      the current instant
+     * @return the number of revoked tokens
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.revokedAt = :now where r.familyId = :familyId and r.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") Instant now);
+
+    /**
+     * Deletes all refresh tokens of a user, e.g. before the user is removed.
+     *
+     * @param userId the user id
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes tokens that have expired.
+     *
+     * @param now the current instant
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
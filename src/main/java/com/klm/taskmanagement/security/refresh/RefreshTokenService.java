@@ -0,0 +1,155 @@
+package com.klm.taskmanagement.security.refresh;
+
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.UnauthorizedException;
+import com.klm.taskmanagement.security.TokenInvalidationRegistry;
+import com.klm.taskmanagement.user.entity.User;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * <p>
+ * A refresh token is 256 random bits; only its SHA-256 hash is stored, so exchanging it
+ * costs one indexed lookup instead of a BCrypt verification. Each exchange marks the
+ * presented token as used and issues a new one in the same family. If a used or revoked
+ * token is presented again, the token has leaked: the whole family is revoked and the
+ * user's outstanding access tokens are invalidated.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenInvalidationRegistry tokenInvalidationRegistry;
+    private final Duration timeToLive;
+
+    /**
+     * Creates the refresh token service.
+     *
+     * @param refreshTokenRepository    persistent store of issued refresh tokens
+     * @param tokenInvalidationRegistry used to cut off access tokens when reuse is detected
+     * @param timeToLive                lifetime of each refresh token
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TokenInvalidationRegistry tokenInvalidationRegistry,
+                               @Value("${security.refresh.ttl:P14D}") Duration timeToLive) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenInvalidationRegistry = tokenInvalidationRegistry;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Result of a successful rotation.
+     *
+     * @param user         the user the token belongs to (with roles loaded)
+     * @param refreshToken the new opaque refresh token
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Issues a refresh token starting a new family, e.g. after login or registration.
+     *
+     * @param user the authenticated user
+     * @return the opaque refresh token to hand to the client
+     */
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     *
+     * @param rawToken the refresh token presented by the client
+     * @return the token's user and the replacement refresh token
+     * @throws UnauthorizedException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(dontRollbackOn = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException(AppConstants.INVALID_REFRESH_TOKEN));
+
+        // A conditional update lets exactly one of two concurrent exchanges win
+        if (current.getUsedAt() != null || current.getRevokedAt() != null
+                || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            revokeFamily(current, now);
+            throw new UnauthorizedException(AppConstants.REFRESH_TOKEN_REUSED);
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException(AppConstants.INVALID_REFRESH_TOKEN);
+        }
+        User user = current.getUser();
+        return new Rotation(user, create(user, current.getFamilyId()));
+    }
+
+    /**
+     * Deletes every refresh token of a user; must run before the user itself is deleted.
+     *
+     * @param userId the user id
+     */
+    @Transactional
+    public void deleteAllForUser(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Deletes expired refresh tokens, including used and revoked ones.
+     */
+    @Scheduled(fixedDelayString = "${security.refresh.purge-interval:PT1H}",
+            initialDelayString = "${security.refresh.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        log.info("Purged {} expired refresh tokens", purged);
+    }
+
+    private void revokeFamily(RefreshToken token, Instant now) {
+        refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+        tokenInvalidationRegistry.invalidateUser(token.getUser().getUsername());
+        log.warn("Refresh token reuse detected for user '{}'; revoked family {}",
+                token.getUser().getUsername(), token.getFamilyId());
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = ENCODER.encodeToString(bytes);
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .user(user)
+                .issuedAt(now)
+                .expiresAt(now.plus(timeToLive))
+                .build());
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.klm.taskmanagement.security.revocation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity recording a revoked JWT by its {@code jti} claim.
+ * Rows are only needed until the token would have expired anyway,
+ * after which they are purged.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RevokedToken {
+    /**
+     * The JWT ID ({@code jti}) of the revoked token.
+     */
+    @Id
+    private String jti;
+    /**
+     * When the revoked token expires; the row can be purged after this instant.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+    /**
+     * When the token was revoked; used to sync other nodes' in-memory filters.
+     */
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
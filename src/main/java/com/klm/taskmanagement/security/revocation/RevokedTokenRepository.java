@@ -0,0 +1,44 @@
+package com.klm.taskmanagement.security.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link RevokedToken} entities.
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    /**
+     * Returns the ids of revoked tokens that have not yet expired.
+     *
+     * @param now the current instant
+     * @return the jti values still worth checking
+     */
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") Instant now);
+
+    /**
+     * Returns the ids of tokens revoked since the given instant.
+     *
+     * @param since lower bound (inclusive) of the revocation time
+     * @return the recently revoked jti values
+     */
+    @Query("select r.jti from RevokedToken r where r.revokedAt >= :since")
+    List<String> findJtisRevokedSince(@Param("since") Instant since);
+
+    /**
+     * Deletes revocations for tokens that have expired.
+     *
+     * @param now the current instant
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,126 @@
+package com.klm.taskmanagement.security.revocation;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stores revoked tokens by {@code jti} and answers "is this token revoked?" cheaply.
+ * <p>
+ * Revocations are persisted in {@code revoked_tokens}, and every known {@code jti} is also
+ * added to an in-memory {@link BloomFilter}. Since nearly all tokens are not revoked, the
+ * filter answers most lookups with a definite "no" and no I/O. Only a filter hit (a real
+ * revocation or a rare false positive) is confirmed against the database.
+ * <p>
+ * A periodic sync adds revocations made by other nodes to the local filter, and a periodic
+ * purge deletes rows for tokens that have expired and rebuilds the filter without them.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Overlap between syncs so revocations committed late on other nodes are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync = Instant.now();
+
+    /**
+     * Creates the revocation service.
+     *
+     * @param revokedTokenRepository persistent store of revocations
+     * @param expectedEntries        expected number of simultaneously active revocations
+     * @param falsePositiveRate      target Bloom filter false-positive probability
+     */
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${security.revocation.expected-entries:100000}") long expectedEntries,
+                                  @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Revokes a verified token until its expiry.
+     * Tokens issued without a {@code jti} cannot be revoked individually and are ignored.
+     *
+     * @param jwt the verified token to revoke
+     */
+    public void revoke(DecodedJWT jwt) {
+        if (jwt.getId() == null || jwt.getExpiresAt() == null) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jwt.getId())
+                .expiresAt(jwt.getExpiresAt().toInstant())
+                .revokedAt(Instant.now())
+                .build());
+        filter.put(jwt.getId());
+    }
+
+    /**
+     * Checks whether a verified token has been revoked.
+     *
+     * @param jwt the verified token
+     * @return {@code true} if the token's {@code jti} has been revoked
+     */
+    public boolean isRevoked(DecodedJWT jwt) {
+        String jti = jwt.getId();
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    /**
+     * Loads all active revocations into the filter once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Adds revocations made since the last sync (possibly by other nodes) to the local filter.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:PT30S}")
+    public void sync() {
+        Instant now = Instant.now();
+        BloomFilter current = filter;
+        revokedTokenRepository.findJtisRevokedSince(lastSync.minus(SYNC_OVERLAP)).forEach(current::put);
+        lastSync = now;
+    }
+
+    /**
+     * Deletes expired revocations and rebuilds the filter so it only holds active ones.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:PT1H}",
+            initialDelayString = "${security.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = revokedTokenRepository.deleteExpired(Instant.now());
+        rebuild();
+        log.info("Purged {} expired token revocations", purged);
+    }
+
+    private void rebuild() {
+        Instant startedAt = Instant.now();
+        BloomFilter rebuilt = new BloomFilter(expectedEntries, falsePositiveRate);
+        revokedTokenRepository.findActiveJtis(startedAt).forEach(rebuilt::put);
+        filter = rebuilt;
+        // Pick up anything revoked while the new filter was being loaded
+        revokedTokenRepository.findJtisRevokedSince(startedAt.minus(SYNC_OVERLAP)).forEach(rebuilt::put);
+        lastSync = startedAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.klm.taskmanagement.security.revocation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity recording a user's "not valid before" stamp: tokens issued to the user at or
+ * before it are rejected. Rows are only needed until every such token would have
+ * expired anyway, after which they are purged.
+ */
+@Entity
+@Table(name = "user_token_invalidations", indexes = {
+        @Index(name = "idx_user_token_invalidations_not_before", columnList = "not_before")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserTokenInvalidation {
+    /**
+     * The token subject whose tokens are invalidated.
+     */
+    @Id
+    private String username;
+    /**
+     * The last second in which an invalidated token may have been issued; also used to sync
+     * other nodes' in-memory stamps.
+     */
+    @Column(nullable = false)
+    private Instant notBefore;
+}
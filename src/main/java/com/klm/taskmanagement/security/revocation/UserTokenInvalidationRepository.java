@@ -0,0 +1,35 @@
+package com.klm.taskmanagement.security.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link UserTokenInvalidation} entities.
+ */
+public interface UserTokenInvalidationRepository extends JpaRepository<UserTokenInvalidation, String> {
+    /**
+     * Returns the stamps set since the given instant.
+     *
+     * @param since lower bound (inclusive) of the stamp
+     * @return the recent stamps
+     */
+    @Query("select i from UserTokenInvalidation i where i.notBefore >= :since")
+    List<UserTokenInvalidation> findStampedSince(@Param("since") Instant since);
+
+    /**
+     * Deletes stamps older than the given instant.
+     *
+     * @param cutoff stamps before this instant can no longer reject an unexpired token
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from UserTokenInvalidation i where i.notBefore < :cutoff")
+    int deleteStampedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,40 @@
+package com.klm.taskmanagement.task.archive;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comment of an {@link ArchivedTask}, moved out of the live {@code comments} table.
+ */
+@Entity
+@Table(name = "archived_comments", indexes = {
+        @Index(name = "idx_archived_comments_task", columnList = "task_id, created_at, id")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ArchivedComment {
+    /**
+     * The original comment ID.
+     */
+    @Id
+    private Long id;
+    @Column(nullable = false)
+    private String content;
+    private LocalDateTime createdAt;
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+    @Column(name = "user_id")
+    private Long authorId;
+    /**
+     * When the comment was moved to the archive.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,60 @@
+package com.klm.taskmanagement.task.archive;
+
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Completed task moved out of the live {@code tasks} table by the {@link TaskArchiver}.
+ * <p>
+ * Keeps the task's original ID and columns. The assignee is kept as a plain ID without a
+ * foreign key, so archived rows never block user deletion.
+ */
+@Entity
+@Table(name = "archived_tasks")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ArchivedTask {
+    /**
+     * The original task ID.
+     */
+    @Id
+    private Long id;
+    @Column(nullable = false)
+    private String title;
+    private String description;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriority priority;
+    private LocalDate targetDate;
+    private Long assignedUserId;
+    private long commentCount;
+    private LocalDateTime lastActivityAt;
+    private LocalDateTime completedAt;
+    /**
+     * When the task was created, copied from the live row.
+     */
+    private LocalDateTime createdAt;
+    /**
+     * When the task was last changed before it was archived, copied from the live row.
+     */
+    private LocalDateTime updatedAt;
+    private int version;
+    /**
+     * When the task was moved to the archive.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
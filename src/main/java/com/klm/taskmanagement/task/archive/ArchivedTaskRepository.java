@@ -0,0 +1,10 @@
+package com.klm.taskmanagement.task.archive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for reading {@link ArchivedTask} entities.
+ * Rows are written only by the {@link TaskArchiver}.
+ */
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+}
@@ -0,0 +1,154 @@
+package com.klm.taskmanagement.task.archive;
+
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.changefeed.TaskChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves completed tasks and their comments from the live tables into
+ * {@code archived_tasks} / {@code archived_comments}.
+ * <p>
+ * Keeps the hot tables (and their indexes) limited to tasks that are still being worked on.
+ * A task qualifies once it is {@code DONE} and was completed (or, for rows that predate
+ * {@code completed_at}, last active) longer ago than {@code app.archive.after}. Each batch
+ * copies and deletes up to {@code batch-size} tasks in one short transaction, so a task is
+ * always in exactly one place.
+ * <p>
+ * The selected rows are locked and re-checked before they are copied, so a task reopened
+ * in the meantime stays live. Each moved task gets an {@code ARCHIVED} entry in the change
+ * log, which sync and change feed clients treat as a tombstone.
+ */
+@Slf4j
+@Component
+public class TaskArchiver {
+
+    private static final String SELECT_IDS =
+            "SELECT id FROM tasks WHERE status = 'DONE' AND deleted_at IS NULL "
+                    + "AND COALESCE(completed_at, last_activity_at) < :cutoff "
+                    + "ORDER BY id FETCH FIRST :limit ROWS ONLY";
+    private static final String LOCK_TASKS =
+            "SELECT id, version FROM tasks WHERE id IN (:ids) AND status = 'DONE' AND deleted_at IS NULL FOR UPDATE";
+    private static final String COPY_TASKS =
+            "INSERT INTO archived_tasks (id, title, description, status, priority, target_date, assigned_user_id, "
+                    + "comment_count, last_activity_at, completed_at, created_at, updated_at, version, archived_at) "
+                    + "SELECT id, title, description, status, priority, target_date, assigned_user_id, "
+                    + "comment_count, last_activity_at, completed_at, created_at, updated_at, version, :now "
+                    + "FROM tasks WHERE id IN (:ids)";
+    private static final String COPY_COMMENTS =
+            "INSERT INTO archived_comments (id, content, created_at, task_id, user_id, archived_at) "
+                    + "SELECT id, content, created_at, task_id, user_id, :now FROM comments "
+                    + "WHERE task_id IN (:ids) AND deleted_at IS NULL";
+    private static final String DELETE_COMMENTS = "DELETE FROM comments WHERE task_id IN (:ids)";
+    private static final String DELETE_TASKS = "DELETE FROM tasks WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskChangeRecorder taskChangeRecorder;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+
+    /**
+     * Creates the archiver.
+     *
+     * @param jdbcTemplate        JDBC access for the set-based copy and delete
+     * @param transactionTemplate runs each batch in its own transaction
+     * @param taskChangeRecorder  records a tombstone for each archived task
+     * @param archiveAfter        how long a task stays live after completion
+     * @param batchSize           maximum tasks moved per batch
+     * @param maxBatches          maximum batches per run
+     * @param pause               pause between batches, to throttle the move
+     */
+    public TaskArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        TaskChangeRecorder taskChangeRecorder,
+                        @Value("${app.archive.after:P30D}") Duration archiveAfter,
+                        @Value("${app.archive.batch-size:500}") int batchSize,
+                        @Value("${app.archive.max-batches:200}") int maxBatches,
+                        @Value("${app.archive.pause:PT0.2S}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskChangeRecorder = taskChangeRecorder;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+    }
+
+    /**
+     * Archives all qualifying tasks, batch by batch.
+     *
+     * @return the number of archived tasks
+     */
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public int archive() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(archiveAfter));
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Batch moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            archived += moved == null ? 0 : moved.archived();
+            if (moved == null || moved.selected() < batchSize || !pause()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} completed tasks", archived);
+        }
+        return archived;
+    }
+
+    private Batch moveBatch(Timestamp cutoff) {
+        List<Long> candidates = jdbcTemplate.queryForList(SELECT_IDS,
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Long.class);
+        if (candidates.isEmpty()) {
+            return new Batch(0, 0);
+        }
+        // Lock and re-check: a task reopened since the select is skipped, one reopened now waits for this batch
+        List<Map<String, Object>> locked = jdbcTemplate.queryForList(LOCK_TASKS,
+                new MapSqlParameterSource("ids", candidates));
+        if (locked.isEmpty()) {
+            return new Batch(candidates.size(), 0);
+        }
+        List<Long> ids = locked.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(COPY_TASKS, params);
+        jdbcTemplate.update(COPY_COMMENTS, params);
+        jdbcTemplate.update(DELETE_COMMENTS, params);
+        jdbcTemplate.update(DELETE_TASKS, params);
+        for (Map<String, Object> row : locked) {
+            taskChangeRecorder.record(((Number) row.get("id")).longValue(), TaskChangeType.ARCHIVED,
+                    ((Number) row.get("version")).intValue());
+        }
+        return new Batch(candidates.size(), ids.size());
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Outcome of one batch: tasks selected as candidates and tasks actually archived.
+     */
+    private record Batch(int selected, int archived) {
+    }
+}
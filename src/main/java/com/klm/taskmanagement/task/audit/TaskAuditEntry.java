@@ -0,0 +1,23 @@
+package com.klm.taskmanagement.task.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One field-level change to a task, waiting to be written to {@code task_audit_log}.
+ *
+ * @param taskId    the changed task
+ * @param field     the name of the changed field
+ * @param oldValue  the value before the change (may be null)
+ * @param newValue  the value after the change (may be null)
+ * @param changedBy the username of the user who made the change
+ * @param changedAt when the change was made
+ */
+public record TaskAuditEntry(
+        Long taskId,
+        String field,
+        String oldValue,
+        String newValue,
+        String changedBy,
+        LocalDateTime changedAt
+) {
+}
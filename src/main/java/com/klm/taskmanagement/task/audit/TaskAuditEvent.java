@@ -0,0 +1,12 @@
+package com.klm.taskmanagement.task.audit;
+
+import java.util.List;
+
+/**
+ * Application event carrying the field-level changes of one task update.
+ * Handed to the {@link TaskAuditWriter} only after the update has committed.
+ *
+ * @param entries the changes to record
+ */
+public record TaskAuditEvent(List<TaskAuditEntry> entries) {
+}
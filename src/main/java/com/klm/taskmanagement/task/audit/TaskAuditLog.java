@@ -0,0 +1,45 @@
+package com.klm.taskmanagement.task.audit;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one row of the append-only task change history.
+ * Rows are inserted in JDBC batches by the {@link TaskAuditWriter} and never updated.
+ */
+@Entity
+@Table(name = "task_audit_log", indexes = {
+        @Index(name = "idx_task_audit_log_task", columnList = "task_id, changed_at, id")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskAuditLog {
+    /**
+     * Unique identifier of the history row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * The changed task. Not a foreign key, so history survives task deletion and archival.
+     */
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private Long taskId;
+    @Column(nullable = false, updatable = false, length = 64)
+    private String fieldName;
+    @Column(updatable = false, length = 1000)
+    private String oldValue;
+    @Column(updatable = false, length = 1000)
+    private String newValue;
+    @Column(updatable = false)
+    private String changedBy;
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,18 @@
+package com.klm.taskmanagement.task.audit;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository interface for reading {@link TaskAuditLog} entries.
+ */
+public interface TaskAuditLogRepository extends JpaRepository<TaskAuditLog, Long> {
+    /**
+     * Returns the change history of a task, oldest first.
+     *
+     * @param taskId the ID of the task
+     * @return the recorded changes
+     */
+    List<TaskAuditLog> findByTaskIdOrderByChangedAtAscIdAsc(Long taskId);
+}
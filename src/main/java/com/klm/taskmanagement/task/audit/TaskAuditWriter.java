@@ -0,0 +1,210 @@
+package com.klm.taskmanagement.task.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes task audit entries to {@code task_audit_log} off the request path.
+ * <p>
+ * Committed changes are put on a bounded in-memory queue; a single background thread
+ * drains it and inserts up to {@code batch-size} rows per JDBC batch. When the queue is
+ * full, producers block until there is room. Updates are slowed down rather than
+ * history being lost.
+ * <p>
+ * A batch that fails to insert is kept and retried with exponential backoff up to
+ * {@code max-backoff} between attempts, for as long as the application runs; meanwhile the
+ * queue fills up and producers block. Entries are only dropped when the application shuts
+ * down while the database is still failing. They are counted in {@value #DROPPED}, next to
+ * the {@value #PENDING} gauge.
+ */
+@Slf4j
+@Component
+public class TaskAuditWriter implements MeterBinder {
+
+    static final String PENDING = "app.audit.pending";
+    static final String DROPPED = "app.audit.dropped";
+
+    private static final String INSERT =
+            "INSERT INTO task_audit_log (task_id, field_name, old_value, new_value, changed_by, changed_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int MAX_VALUE_LENGTH = 1000;
+    private static final long INITIAL_BACKOFF_MS = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<TaskAuditEntry> queue;
+    private final int batchSize;
+    private final long maxBackoffMs;
+    private final AtomicLong dropped = new AtomicLong();
+    private final CountDownLatch stopping = new CountDownLatch(1);
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the writer and starts its background thread.
+     *
+     * @param jdbcTemplate  JDBC access for batched inserts
+     * @param queueCapacity maximum number of entries waiting to be written
+     * @param batchSize     maximum number of rows per JDBC batch
+     * @param maxBackoff    longest wait between two attempts to write a failed batch
+     */
+    public TaskAuditWriter(JdbcTemplate jdbcTemplate,
+                           @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.audit.batch-size:200}") int batchSize,
+                           @Value("${app.audit.max-backoff:PT30S}") Duration maxBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxBackoffMs = Math.max(INITIAL_BACKOFF_MS, maxBackoff.toMillis());
+        this.worker = new Thread(this::drain, "task-audit-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues the changes of a committed task update.
+     *
+     * @param event the changes to record
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskAudit(TaskAuditEvent event) {
+        enqueue(event.entries());
+    }
+
+    /**
+     * Queues entries for writing, blocking while the queue is full.
+     * <p>
+     * An interrupt does not cut the change short: the remaining entries are still queued
+     * and the interrupt status is restored afterwards.
+     *
+     * @param entries the entries to write
+     */
+    public void enqueue(List<TaskAuditEntry> entries) {
+        boolean interrupted = false;
+        try {
+            for (TaskAuditEntry entry : entries) {
+                while (true) {
+                    try {
+                        queue.put(entry);
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries waiting to be written.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of entries that could not be written before shutdown.
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PENDING, this, TaskAuditWriter::pending)
+                .description("Task audit entries waiting to be written")
+                .register(registry);
+        FunctionCounter.builder(DROPPED, this, TaskAuditWriter::dropped)
+                .description("Task audit entries dropped because they could not be written")
+                .register(registry);
+    }
+
+    /**
+     * Stops accepting work and writes whatever is still queued.
+     * A batch that is still failing gets one more attempt and is then dropped.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        stopping.countDown();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void drain() {
+        List<TaskAuditEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TaskAuditEntry first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                int lost = batch.size() + queue.size();
+                dropped.addAndGet(lost);
+                log.error("Task audit writer interrupted, dropping {} entries", lost);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<TaskAuditEntry> batch) throws InterruptedException {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.taskId());
+                    ps.setString(2, entry.field());
+                    ps.setString(3, truncate(entry.oldValue()));
+                    ps.setString(4, truncate(entry.newValue()));
+                    ps.setString(5, entry.changedBy());
+                    ps.setTimestamp(6, Timestamp.valueOf(entry.changedAt()));
+                });
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    dropped.addAndGet(batch.size());
+                    log.error("Dropping {} task audit entries at shutdown after {} failed attempts",
+                            batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("Writing {} task audit entries failed (attempt {}), retrying in {} ms",
+                        batch.size(), attempt, backoffMs, e);
+                // Returns early when shutdown starts, for the final attempt
+                stopping.await(backoffMs, TimeUnit.MILLISECONDS);
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_VALUE_LENGTH ? value : value.substring(0, MAX_VALUE_LENGTH);
+    }
+}
@@ -0,0 +1,72 @@
+package com.klm.taskmanagement.task.audit;
+
+import com.klm.taskmanagement.task.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The audited fields of a task at one point in time, used to compute field-level diffs.
+ * Only the assignee's ID is read, so taking a snapshot never initializes the user proxy.
+ *
+ * @param taskId the task ID
+ * @param values audited field name to its string value, in a stable order
+ */
+public record TaskSnapshot(Long taskId, Map<String, String> values) {
+
+    /**
+     * Captures the audited fields of a task.
+     *
+     * @param task the task
+     * @return the snapshot
+     */
+    public static TaskSnapshot of(Task task) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("title", task.getTitle());
+        values.put("description", task.getDescription());
+        values.put("status", asString(task.getStatus()));
+        values.put("priority", asString(task.getPriority()));
+        values.put("targetDate", asString(task.getTargetDate()));
+        values.put("assignedUserId", task.getAssignedUser() == null ? null : asString(task.getAssignedUser().getId()));
+        return new TaskSnapshot(task.getId(), values);
+    }
+
+    /**
+     * Returns a snapshot of a task whose values were not read before it was written.
+     * Diffing against it records every non-null written value with an unknown old value.
+     *
+     * @param taskId the task ID
+     * @return the empty snapshot
+     */
+    public static TaskSnapshot unread(Long taskId) {
+        return new TaskSnapshot(taskId, Map.of());
+    }
+
+    /**
+     * Lists the fields whose values differ between this snapshot and a later one.
+     *
+     * @param after     the snapshot taken after the change
+     * @param changedBy the user who made the change
+     * @param changedAt when the change was made
+     * @return one entry per changed field; empty if nothing changed
+     */
+    public List<TaskAuditEntry> diff(TaskSnapshot after, String changedBy, LocalDateTime changedAt) {
+        List<TaskAuditEntry> entries = new ArrayList<>();
+        after.values().forEach((field, newValue) -> {
+            String oldValue = values.get(field);
+            boolean changed = values.containsKey(field) ? !Objects.equals(oldValue, newValue) : newValue != null;
+            if (changed) {
+                entries.add(new TaskAuditEntry(taskId, field, oldValue, newValue, changedBy, changedAt));
+            }
+        });
+        return entries;
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.klm.taskmanagement.task.changefeed;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one entry of the task change log.
+ * <p>
+ * Entries are inserted in the same transaction as the task change they describe. The identity
+ * column is the durable change sequence that feed subscribers and sync clients resume from.
+ * It is assigned at insert, not at commit, so a lower sequence can still become visible after a
+ * higher one; readers handle that through {@link TaskChangeLog}.
+ */
+@Entity
+@Table(name = "task_change_log")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskChange {
+    /**
+     * Position of the change in the sequence; used as the SSE event ID.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long sequence;
+    /**
+     * The changed task. Not a foreign key, so entries outlive deleted tasks.
+     */
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private Long taskId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private TaskChangeType type;
+    /**
+     * The task's optimistic-lock version after the change.
+     */
+    @Column(nullable = false, updatable = false)
+    private int version;
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
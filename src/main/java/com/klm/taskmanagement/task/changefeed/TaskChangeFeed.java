@@ -0,0 +1,340 @@
+package com.klm.taskmanagement.task.changefeed;
+
+import com.klm.taskmanagement.task.dto.TaskChangeDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of task changes.
+ * <p>
+ * Each subscriber is an {@link SseEmitter}, so an idle stream holds no request thread.
+ * Events carry the change sequence as their ID. A client that reconnects with
+ * {@code Last-Event-ID} is first replayed the logged changes it missed. If it missed more than
+ * {@code replay-limit}, it is sent a single {@code resync} event instead and the stream is
+ * closed: the client must run a full sync before it reconnects. The resync event's ID moves the
+ * client's Last-Event-ID to the current position, so the reconnect does not end in another resync.
+ * <p>
+ * Committed changes are put in sequence order by a single dispatcher thread. Sequences are
+ * assigned at insert, so a change can commit before a lower one: it is held back until the
+ * lower one arrives, or until the gap is older than the change log's visibility delay and
+ * belongs to a rollback. Writers only hand their change over and never wait for each other.
+ * <p>
+ * Every stream has its own bounded queue, drained by a pooled sender thread, so a slow
+ * client only delays itself. A stream whose queue overflows is closed and the client
+ * resumes from its last event ID.
+ */
+@Slf4j
+@Component
+public class TaskChangeFeed {
+
+    private static final String EVENT_NAME = "task-change";
+    private static final String RESYNC_EVENT_NAME = "resync";
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final Duration timeout;
+    private final int replayLimit;
+    private final int queueCapacity;
+    private final long gapWaitNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Ordering state below is only touched on the dispatcher thread
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService sender;
+    private final TreeMap<Long, TaskChangeDto> pending = new TreeMap<>();
+    private long lastDispatched;
+    private long gapSinceNanos;
+    private boolean gapCheckScheduled;
+
+    /**
+     * Creates the feed.
+     *
+     * @param taskChangeRepository the change log
+     * @param taskChangeLog        provides the visibility delay after which a sequence gap is skipped
+     * @param timeout              how long a stream stays open before the client must reconnect
+     * @param replayLimit          maximum number of missed changes replayed on reconnect before a resync is requested
+     * @param queueCapacity        maximum number of changes waiting to be sent to one stream
+     */
+    public TaskChangeFeed(TaskChangeRepository taskChangeRepository,
+                          TaskChangeLog taskChangeLog,
+                          @Value("${app.sse.timeout:PT30M}") Duration timeout,
+                          @Value("${app.sse.replay-limit:1000}") int replayLimit,
+                          @Value("${app.sse.queue-capacity:256}") int queueCapacity) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.timeout = timeout;
+        this.replayLimit = replayLimit;
+        this.queueCapacity = queueCapacity;
+        this.gapWaitNanos = taskChangeLog.visibilityDelay().toNanos();
+        this.lastDispatched = taskChangeRepository.findMaxSequence();
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-change-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "task-change-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a change stream, replaying the changes after {@code lastEventId} first.
+     *
+     * @param lastEventId the last sequence the client received, or {@code null} for live changes only
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity, lastEventId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        submit(() -> {
+            // Registered on the dispatcher thread: every change up to liveFrom has been dispatched
+            // before the stream existed and is replayed; every later one is queued for it.
+            subscriber.liveFrom = lastDispatched;
+            subscribers.add(subscriber);
+            schedule(subscriber);
+        });
+        return emitter;
+    }
+
+    /**
+     * Hands a committed change to the dispatcher thread.
+     *
+     * @param change the change recorded by {@link TaskChangeRecorder}
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChange(TaskChangeDto change) {
+        submit(() -> {
+            if (change.sequence() <= lastDispatched) {
+                log.warn("Task change {} committed after its sequence gap was skipped; streams miss it",
+                        change.sequence());
+                return;
+            }
+            pending.put(change.sequence(), change);
+            dispatchPending();
+        });
+    }
+
+    /**
+     * Sends a comment line to every stream so proxies keep idle connections open
+     * and streams of departed clients are noticed and closed.
+     */
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        });
+    }
+
+    /**
+     * Returns the number of open streams.
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Closes all streams; clients reconnect with their last event ID.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Task change feed is shut down");
+        }
+    }
+
+    /**
+     * Dispatches pending changes in sequence order, waiting at a gap for at most the visibility delay.
+     * Runs on the dispatcher thread.
+     */
+    private void dispatchPending() {
+        while (!pending.isEmpty()) {
+            Map.Entry<Long, TaskChangeDto> next = pending.firstEntry();
+            if (next.getKey() != lastDispatched + 1) {
+                long now = System.nanoTime();
+                if (gapSinceNanos == 0) {
+                    gapSinceNanos = now;
+                }
+                if (now - gapSinceNanos < gapWaitNanos) {
+                    scheduleGapCheck(gapWaitNanos - (now - gapSinceNanos));
+                    return;
+                }
+                log.debug("Skipping task change sequences {} to {}", lastDispatched + 1, next.getKey() - 1);
+            }
+            pending.pollFirstEntry();
+            dispatch(next.getValue());
+            lastDispatched = next.getKey();
+            gapSinceNanos = 0;
+        }
+    }
+
+    private void scheduleGapCheck(long delayNanos) {
+        if (!gapCheckScheduled) {
+            gapCheckScheduled = true;
+            dispatcher.schedule(() -> {
+                gapCheckScheduled = false;
+                dispatchPending();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void dispatch(TaskChangeDto change) {
+        subscribers.forEach(subscriber -> {
+            if (subscriber.queue.offer(change)) {
+                schedule(subscriber);
+            } else {
+                log.debug("Closing task change subscriber that fell {} changes behind", queueCapacity);
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        });
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Sends everything pending for one stream. At most one drain runs per stream at a time.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.replayPending) {
+                subscriber.replayPending = false;
+                if (!replay(subscriber)) {
+                    return;
+                }
+            }
+            TaskChangeDto change;
+            while ((change = subscriber.queue.poll()) != null) {
+                if (change.sequence() > subscriber.lastSent && !sendChange(subscriber, change)) {
+                    return;
+                }
+            }
+            if (subscriber.heartbeatDue.getAndSet(false)
+                    && !send(subscriber, SseEmitter.event().comment("heartbeat"))) {
+                return;
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty() || subscriber.heartbeatDue.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private boolean replay(Subscriber subscriber) {
+        List<TaskChange> missed = taskChangeRepository
+                .findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                        subscriber.lastSent, subscriber.liveFrom, PageRequest.of(0, replayLimit + 1));
+        if (missed.size() > replayLimit) {
+            requestResync(subscriber);
+            return false;
+        }
+        for (TaskChange change : missed) {
+            if (!sendChange(subscriber, TaskChangeRecorder.toDto(change))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells a client that is too far behind to run a full sync, then closes its stream.
+     */
+    private void requestResync(Subscriber subscriber) {
+        log.debug("Task change subscriber missed more than {} changes; requesting a resync", replayLimit);
+        String position = Long.toString(subscriber.liveFrom);
+        if (send(subscriber, SseEmitter.event().id(position).name(RESYNC_EVENT_NAME).data(position))) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean sendChange(Subscriber subscriber, TaskChangeDto change) {
+        if (!send(subscriber, SseEmitter.event().id(change.sequence().toString()).name(EVENT_NAME).data(change))) {
+            return false;
+        }
+        subscriber.lastSent = change.sequence();
+        return true;
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscribers.contains(subscriber)) {
+            return false;
+        }
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping task change subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * An open stream, its pending changes and the last sequence sent to it.
+     * {@code liveFrom} is set on the dispatcher thread before the first drain; {@code lastSent}
+     * and {@code replayPending} are only touched by the stream's drain.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskChangeDto> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private long liveFrom;
+        private long lastSent;
+        private boolean replayPending;
+
+        private Subscriber(SseEmitter emitter, int queueCapacity, Long lastEventId) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.lastSent = lastEventId != null ? lastEventId : 0;
+            this.replayPending = lastEventId != null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.klm.taskmanagement.task.changefeed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the task change log in sequence order without skipping changes that are still committing.
+ * <p>
+ * Sequences are assigned at insert, so a reader can see sequence {@code N + 1} before
+ * {@code N} has committed. A gap in the sequence is therefore waited for until the change
+ * after it is older than the visibility delay; by then the missing sequence belongs to a
+ * rolled-back transaction and is passed over. Writers take no lock for this.
+ */
+@Component
+public class TaskChangeLog {
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final Duration visibilityDelay;
+
+    /**
+     * Creates the reader.
+     *
+     * @param taskChangeRepository the change log
+     * @param visibilityDelay      how long a gap in the sequence is waited for
+     */
+    public TaskChangeLog(TaskChangeRepository taskChangeRepository,
+                         @Value("${app.change-log.visibility-delay:PT5S}") Duration visibilityDelay) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.visibilityDelay = visibilityDelay;
+    }
+
+    /**
+     * Returns how long a gap in the sequence is waited for before it is treated as a rollback.
+     * It must exceed the longest transaction that records a change.
+     */
+    public Duration visibilityDelay() {
+        return visibilityDelay;
+    }
+
+    /**
+     * Returns a sequence position below which no change can still appear, for a reader starting now.
+     *
+     * @return the position
+     */
+    public long stableSequence() {
+        return taskChangeRepository.findFirstByChangedAtLessThanEqualOrderBySequenceDesc(
+                        LocalDateTime.now().minus(visibilityDelay))
+                .map(TaskChange::getSequence)
+                .orElse(0L);
+    }
+
+    /**
+     * Returns the changes after a sequence position, stopping at a gap that may still be filled.
+     *
+     * @param sequence the last sequence position the reader has seen
+     * @param limit    the maximum number of changes to read
+     * @return the changes, in sequence order; fewer than {@code limit} if a gap cut them short
+     */
+    public List<TaskChange> readAfter(long sequence, int limit) {
+        List<TaskChange> rows = taskChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                sequence, PageRequest.ofSize(limit));
+        LocalDateTime settled = LocalDateTime.now().minus(visibilityDelay);
+        List<TaskChange> stable = new ArrayList<>(rows.size());
+        long expected = sequence + 1;
+        for (TaskChange change : rows) {
+            if (change.getSequence() != expected && change.getChangedAt().isAfter(settled)) {
+                break;
+            }
+            stable.add(change);
+            expected = change.getSequence() + 1;
+        }
+        return stable;
+    }
+}
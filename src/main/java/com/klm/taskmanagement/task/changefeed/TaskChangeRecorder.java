@@ -0,0 +1,45 @@
+package com.klm.taskmanagement.task.changefeed;
+
+import com.klm.taskmanagement.task.dto.TaskChangeDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends task changes to the change log within the caller's transaction and hands
+ * them to the {@link TaskChangeFeed}, which delivers them once the transaction commits.
+ * <p>
+ * The sequence is the log's identity column, so concurrent writers never wait for each
+ * other here; readers deal with sequences that commit out of order.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeRecorder {
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Records a change to a task.
+     *
+     * @param taskId  the changed task
+     * @param type    the kind of change
+     * @param version the task's version after the change
+     */
+    public void record(Long taskId, TaskChangeType type, int version) {
+        TaskChange change = taskChangeRepository.save(TaskChange.builder()
+                .taskId(taskId)
+                .type(type)
+                .version(version)
+                .changedAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(toDto(change));
+    }
+
+    static TaskChangeDto toDto(TaskChange change) {
+        return new TaskChangeDto(change.getSequence(), change.getTaskId(), change.getType(),
+                change.getVersion(), change.getChangedAt());
+    }
+}
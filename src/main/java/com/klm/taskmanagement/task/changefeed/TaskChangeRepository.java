@@ -0,0 +1,49 @@
+package com.klm.taskmanagement.task.changefeed;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link TaskChange} entries.
+ */
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+    /**
+     * Returns the changes after a sequence position, in sequence order.
+     *
+     * @param sequence the last sequence position the caller has seen
+     * @param limit    the maximum number of changes to return (only the page size is used)
+     * @return the following changes
+     */
+    List<TaskChange> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Pageable limit);
+
+    /**
+     * Returns the changes in the sequence window {@code (after, upTo]}, in sequence order.
+     *
+     * @param after the last sequence position the caller has seen
+     * @param upTo  the inclusive end of the window
+     * @param limit the maximum number of changes to return (only the page size is used)
+     * @return the changes in the window
+     */
+    List<TaskChange> findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(Long after, Long upTo,
+                                                                                         Pageable limit);
+
+    /**
+     * Returns the highest recorded sequence position, or 0 if the log is empty.
+     */
+    @Query("select coalesce(max(c.sequence), 0) from TaskChange c")
+    long findMaxSequence();
+
+    /**
+     * Returns the latest change made no later than {@code cutoff}. Scans back from the newest
+     * entry, so only the changes made after the cutoff are passed over.
+     *
+     * @param cutoff the latest change time to consider
+     * @return the change, if any
+     */
+    Optional<TaskChange> findFirstByChangedAtLessThanEqualOrderBySequenceDesc(LocalDateTime cutoff);
+}
@@ -0,0 +1,14 @@
+package com.klm.taskmanagement.task.changefeed;
+
+/**
+ * Kind of change recorded in the task change log.
+ */
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    /** A comment was added or removed; the comment count and last activity changed, the version did not. */
+    COMMENTED,
+    DELETED,
+    /** Moved to the archive tables; a tombstone for the live task list. */
+    ARCHIVED
+}
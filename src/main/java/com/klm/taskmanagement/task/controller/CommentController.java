@@ -4,6 +4,7 @@ import com.klm.taskmanagement.global.AppConstants;
 import com.klm.taskmanagement.global.response.ApiResponse;
 import com.klm.taskmanagement.task.dto.CommentDto;
 import com.klm.taskmanagement.task.dto.CommentRequestDto;
+import com.klm.taskmanagement.task.dto.CommentTimelineDto;
 import com.klm.taskmanagement.task.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * REST controller for handling comment-related API requests.
  */
@@ -53,6 +57,51 @@ public class CommentController {
         Page<CommentDto> comments = commentService.getCommentsByTaskId(taskId, page, size);
         return ApiResponse.success(AppConstants.COMMENT_FETCH, comments);
     }
+
+    /**
+     * Retrieves comments by task ID, returning only the requested fields (sparse fieldset).
+     * <p>
+     * Selected when the {@code fields} parameter is present, e.g. {@code ?fields=id,comment}.
+     * Unrequested columns are not selected from the database.
+     *
+     * @param taskId the ID of the task whose comments to retrieve
+     * @param fields comma-separated {@link CommentDto} field names to return
+     * @param page   the page number (0-based index), default is 0
+     * @param size   the number of comments per page, default is 10
+     * @return ApiResponse containing a Page of rows with the requested fields
+     */
+    @GetMapping(value = "/{taskId}/info", params = "fields")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<Page<Map<String, Object>>> getCommentsByTaskSparse(
+            @PathVariable Long taskId,
+            @RequestParam Set<String> fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        Page<Map<String, Object>> comments = commentService.getCommentsByTaskId(taskId, page, size, fields);
+        return ApiResponse.success(AppConstants.COMMENT_FETCH, comments);
+    }
+    /**
+     * Retrieves a task's comments oldest first, one page at a time, for infinite scrolling.
+     * <p>
+     * Pass the {@code nextCursor} of the previous response to get the following page.
+     * Each page costs the same regardless of how deep into the timeline it is, and no total is counted.
+     *
+     * @param taskId the ID of the task whose comments to retrieve
+     * @param cursor the cursor from the previous page; omit for the first page
+     * @param size   the number of comments per page (at most 100), default is 20
+     * @return ApiResponse containing the comments and the next cursor
+     */
+    @GetMapping("/{taskId}/timeline")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<CommentTimelineDto> getCommentTimeline(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CommentTimelineDto timeline = commentService.getCommentTimeline(taskId, cursor, size);
+        return ApiResponse.success(AppConstants.COMMENT_FETCH, timeline);
+    }
     /**
      * Deletes a comment by its ID.
      *
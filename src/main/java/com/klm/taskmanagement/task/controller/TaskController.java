@@ -1,17 +1,29 @@
 package com.klm.taskmanagement.task.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.BadRequestException;
 import com.klm.taskmanagement.global.response.ApiResponse;
+import com.klm.taskmanagement.task.changefeed.TaskChangeFeed;
+import com.klm.taskmanagement.task.dto.TaskAuditDto;
 import com.klm.taskmanagement.task.dto.TaskDto;
 import com.klm.taskmanagement.task.dto.TaskRequestDto;
+import com.klm.taskmanagement.task.dto.TaskSyncDto;
 import com.klm.taskmanagement.task.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * REST controller for managing tasks.
@@ -25,6 +37,7 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskChangeFeed taskChangeFeed;
 
     /**
      * Creates a new task.
@@ -42,14 +55,18 @@ public class TaskController {
     /**
      * Retrieves a task by its ID.
      *
+     * The task's version is returned as the {@code ETag} for conditional updates.
+     *
      * @param id the task ID
      * @return ApiResponse containing the task DTO if found
      */
     @GetMapping("/{id}/info")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public  ApiResponse<TaskDto> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<TaskDto>> getTaskById(@PathVariable Long id) {
         TaskDto task = taskService.getTaskById(id);
-        return ApiResponse.success(AppConstants.TASK_FETCH, task);
+        return ResponseEntity.ok()
+                .eTag(eTag(task))
+                .body(ApiResponse.success(AppConstants.TASK_FETCH, task));
     }
 
     /**
@@ -70,21 +87,128 @@ public class TaskController {
         return ApiResponse.success(AppConstants.TASK_FETCH, tasks);
     }
 
+    /**
+     * Retrieves all tasks, returning only the requested fields (sparse fieldset).
+     * <p>
+     * Selected when the {@code fields} parameter is present, e.g. {@code ?fields=id,title,status}.
+     * Unrequested columns are not selected from the database.
+     * Accessible only to users with the ADMIN role.
+     *
+     * @param fields comma-separated {@link TaskDto} field names to return
+     * @param page   the page number (0-based index), default is 0
+     * @param size   the number of tasks per page, default is 10
+     * @return ApiResponse containing a Page of rows with the requested fields
+     */
+    @GetMapping(value = "/all-tasks", params = "fields")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse<Page<Map<String, Object>>> getAllTasksSparse(
+            @RequestParam Set<String> fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        Page<Map<String, Object>> tasks = taskService.getAllTasks(PageRequest.of(page, size), fields);
+        return ApiResponse.success(AppConstants.TASK_FETCH, tasks);
+    }
+
     /**
      * Updates an existing task by ID.
+     * <p>
+     * With an {@code If-Match: "<version>"} header the update is a single conditional
+     * UPDATE and fails with 412 Precondition Failed if the task has changed since that version.
      *
      * @param id      the task ID
+     * @param ifMatch the ETag of the version the client last read (optional)
      * @param request the task update request DTO
-     * @return ApiResponse containing the updated task DTO
+     * @return ApiResponse containing the updated task DTO, with its new version as the ETag
      */
     @PutMapping("/{id}/update")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ApiResponse<TaskDto> updateTask(
+    public ResponseEntity<ApiResponse<TaskDto>> updateTask(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskRequestDto request) {
-        TaskDto updateTask = taskService.updateTask(id, request);
-        return ApiResponse.success(AppConstants.TASK_UPDATE, updateTask);
+        Integer expectedVersion = parseIfMatch(ifMatch);
+        TaskDto updateTask = expectedVersion == null
+                ? taskService.updateTask(id, request)
+                : taskService.updateTask(id, request, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(eTag(updateTask))
+                .body(ApiResponse.success(AppConstants.TASK_UPDATE, updateTask));
+    }
 
+    /**
+     * Partially updates a task with a JSON Merge Patch (RFC 7396) document.
+     * <p>
+     * Only the fields present in the body are changed, e.g. {@code {"status": "DONE"}};
+     * {@code null} clears an optional field. With an {@code If-Match: "<version>"} header the
+     * patch fails with 412 Precondition Failed if the task has changed since that version.
+     *
+     * @param id      the task ID
+     * @param ifMatch the ETag of the version the client last read (optional)
+     * @param patch   the merge patch document
+     * @return ApiResponse containing the updated task DTO, with its new version as the ETag
+     */
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TaskDto>> patchTask(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        Integer expectedVersion = parseIfMatch(ifMatch);
+        TaskDto patched = expectedVersion == null
+                ? taskService.patchTask(id, patch)
+                : taskService.patchTask(id, patch, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(eTag(patched))
+                .body(ApiResponse.success(AppConstants.TASK_UPDATE, patched));
+    }
+
+    /**
+     * Retrieves the field-level change history of a task, oldest first.
+     *
+     * @param id the task ID
+     * @return ApiResponse containing the recorded changes
+     */
+    @GetMapping("/{id}/history")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ApiResponse<List<TaskAuditDto>> getTaskHistory(@PathVariable Long id) {
+        return ApiResponse.success(AppConstants.TASK_HISTORY_FETCH, taskService.getTaskHistory(id));
+    }
+
+    /**
+     * Returns what changed since the client's last sync: updated tasks and deleted task IDs.
+     * <p>
+     * Clients keep the returned cursor and send it on the next call; the response size follows
+     * the number of changes, not the number of tasks.
+     *
+     * @param cursor the cursor from the previous sync; omit for the first sync
+     * @param size   the maximum number of changes, or of tasks during the first download (at most 1000), default is 500
+     * @return ApiResponse containing the changes and the next cursor
+     */
+    @GetMapping("/sync")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ApiResponse<TaskSyncDto> syncTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int size
+    ) {
+        return ApiResponse.success(AppConstants.TASK_FETCH, taskService.syncTasks(cursor, size));
+    }
+
+    /**
+     * Streams task changes as Server-Sent Events.
+     * <p>
+     * Each event's ID is its change sequence. Clients that reconnect with the
+     * {@code Last-Event-ID} header first receive the changes they missed. A client that missed
+     * more than the replay limit receives a {@code resync} event and the stream closes; it must
+     * run a full {@code /sync} before reconnecting.
+     *
+     * @param lastEventId the last change sequence the client received, if resuming
+     * @return the event stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return taskChangeFeed.subscribe(lastEventId);
     }
 
     /**
@@ -101,4 +225,30 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.ok(ApiResponse.success(AppConstants.TASK_DELETE, null));
     }
-}
\ No newline at end of file
+
+    private static String eTag(TaskDto task) {
+        return "\"" + task.version() + "\"";
+    }
+
+    /**
+     * Reads the expected task version from an {@code If-Match} header such as {@code "3"}.
+     * Returns {@code null} for no header or {@code *}, which match any existing task.
+     */
+    private static Integer parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Integer.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(AppConstants.INVALID_IF_MATCH);
+        }
+    }
+}
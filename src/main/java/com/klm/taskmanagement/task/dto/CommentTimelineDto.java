@@ -0,0 +1,17 @@
+package com.klm.taskmanagement.task.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a task's comment timeline, ordered oldest first.
+ * Like a Slice, it carries no total count.
+ *
+ * @param comments   the comments on this page
+ * @param nextCursor the cursor to request the following page, or {@code null} if there is none
+ * @param hasNext    whether more comments follow this page
+ */
+public record CommentTimelineDto(
+        List<CommentDto> comments,
+        String nextCursor,
+        boolean hasNext
+) {}
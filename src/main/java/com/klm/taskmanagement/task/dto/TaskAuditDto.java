@@ -0,0 +1,20 @@
+package com.klm.taskmanagement.task.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of a task's change history.
+ *
+ * @param field     the name of the changed field
+ * @param oldValue  the value before the change
+ * @param newValue  the value after the change
+ * @param changedBy the username of the user who made the change
+ * @param changedAt when the change was made
+ */
+public record TaskAuditDto(
+        String field,
+        String oldValue,
+        String newValue,
+        String changedBy,
+        LocalDateTime changedAt
+) {}
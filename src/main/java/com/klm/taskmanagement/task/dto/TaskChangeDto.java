@@ -0,0 +1,22 @@
+package com.klm.taskmanagement.task.dto;
+
+import com.klm.taskmanagement.task.changefeed.TaskChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one task change delivered on the change feed.
+ *
+ * @param sequence  the change's position in the change log (also the SSE event ID)
+ * @param taskId    the changed task
+ * @param type      whether the task was created, updated or deleted
+ * @param version   the task's version after the change
+ * @param changedAt when the change was made
+ */
+public record TaskChangeDto(
+        Long sequence,
+        Long taskId,
+        TaskChangeType type,
+        int version,
+        LocalDateTime changedAt
+) {}
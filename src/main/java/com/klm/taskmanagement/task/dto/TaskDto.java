@@ -4,6 +4,7 @@ import com.klm.taskmanagement.task.entity.TaskPriority;
 import com.klm.taskmanagement.task.entity.TaskStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 
 /**
@@ -15,6 +16,10 @@ import java.time.LocalDate;
  * @param status
  * @param priority
  * @param targetDate
+ * @param commentCount   number of comments on the task; null after a conditional update,
+ *                       which writes the task without reading it
+ * @param lastActivityAt time of the most recent task or comment activity; null after a conditional update
+ * @param version        the task's version, also sent as its {@code ETag}
  */
 public record TaskDto(
 
@@ -24,7 +29,10 @@ public record TaskDto(
         TaskStatus status,
         TaskPriority priority,
 
-        LocalDate targetDate
+        LocalDate targetDate,
+        Long commentCount,
+        LocalDateTime lastActivityAt,
+        int version
 
 ) {
 }
\ No newline at end of file
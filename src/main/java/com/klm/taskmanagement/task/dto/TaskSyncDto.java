@@ -0,0 +1,20 @@
+package com.klm.taskmanagement.task.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one delta sync response.
+ * Clients apply {@code changed} first and then {@code deleted}, store {@code cursor}
+ * and call again while {@code hasMore} is true.
+ *
+ * @param changed tasks created or updated since the client's cursor
+ * @param deleted IDs of tasks deleted since the client's cursor
+ * @param cursor  opaque watermark to send on the next sync
+ * @param hasMore whether more changes are waiting beyond this response
+ */
+public record TaskSyncDto(
+        List<TaskDto> changed,
+        List<Long> deleted,
+        String cursor,
+        boolean hasMore
+) {}
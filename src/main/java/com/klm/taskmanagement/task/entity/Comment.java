@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 /**
@@ -14,7 +15,13 @@ import java.time.LocalDateTime;
  * Each comment is linked to one task and one user (author).
  */
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Covers the ownership check (id -> user_id) and author lookups
+        @Index(name = "idx_comments_id_user", columnList = "id, user_id"),
+        // Serves the per-task timeline: equality on task_id, then seek/scan in (created_at, id) order
+        @Index(name = "idx_comments_task_created", columnList = "task_id, created_at, id")
+})
+@SQLRestriction("deleted_at is null")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -43,15 +50,17 @@ public class Comment {
     /**
      * The task this comment belongs to.
      * Many comments can be associated with one task.
+     * Loaded lazily; writes only need the foreign key.
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "task_id")
     private Task task;
     /**
      * The user who authored the comment.
      * Many comments can be authored by one user.
+     * Loaded lazily; writes only need the foreign key.
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
     private User author;
     /**
@@ -61,6 +70,13 @@ public class Comment {
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
     }
+    /**
+     * When the comment was soft-deleted; null while active.
+     * Rows with a value are hidden from all queries and purged later.
+     * Set only by bulk updates, so saving a stale copy cannot undelete the row.
+     */
+    @Column(updatable = false)
+    private LocalDateTime deletedAt;
     @Version
     private int version;
 }
@@ -8,17 +8,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 
 /**
  * Entity representing a task in the Task Management System.
  * A task can be assigned to a user, has a due date, and may contain comments.
+ * Updates are dynamic: the UPDATE statement lists only the columns that changed.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_updated", columnList = "updated_at, id")
+})
+@SQLRestriction("deleted_at is null")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -65,16 +73,73 @@ public class Task {
     private LocalDate targetDate;
     /**
      * The user to whom the task is assigned.
+     * Loaded lazily; writes only need the foreign key.
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "assigned_user_id")
     private User assignedUser;
     /**
      * List of comments associated with this task.
      * Cascade operations and orphan removal are enabled.
+     * Deleting a task does not go through this cascade; comments are removed in bulk first.
      */
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments;
+    /**
+     * Number of comments on the task.
+     * Maintained by atomic bulk updates in {@code TaskRepository}; never written on entity
+     * updates, so a stale copy of the task cannot overwrite a concurrent increment.
+     */
+    @Column(nullable = false, updatable = false)
+    private long commentCount;
+    /**
+     * Time of the most recent activity (task creation or a comment added/removed).
+     * Maintained the same way as {@link #commentCount}.
+     */
+    @Column(updatable = false)
+    private LocalDateTime lastActivityAt;
+    /**
+     * When the task last moved to {@link TaskStatus#DONE}; null while not done.
+     * Completed tasks are moved to the archive some time after this.
+     */
+    private LocalDateTime completedAt;
+    /**
+     * Timestamp when the task was created.
+     * Automatically set before persisting.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    /**
+     * Timestamp of the last change to the task, including comment count changes.
+     * Set on every insert and update; the comment count bulk updates set it explicitly.
+     * Indexed together with the ID for recency queries, e.g. recently changed tasks.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    /**
+     * When the task was soft-deleted; null while active.
+     * Rows with a value are hidden from all queries and purged later.
+     * Set only by bulk updates, so saving a stale copy cannot undelete the row.
+     */
+    @Column(updatable = false)
+    private LocalDateTime deletedAt;
     @Version
     private int version;
+
+    /**
+     * JPA lifecycle callback to set the audit timestamps before the first save.
+     */
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    /**
+     * JPA lifecycle callback to record the time of every update.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
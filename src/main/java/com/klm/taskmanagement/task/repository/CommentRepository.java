@@ -1,9 +1,17 @@
 package com.klm.taskmanagement.task.repository;
 
+import com.klm.taskmanagement.task.dto.CommentDto;
 import com.klm.taskmanagement.task.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link Comment} entities.
@@ -20,4 +28,85 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
       * @return a page of Comment entities
       */
 Page<Comment> findByTaskId(Long taskId, Pageable pageable);
+
+     /**
+      * Returns the username of a comment's author, without loading the comment.
+      * Runs as a single select joining the comment's author by primary key.
+      *
+      * @param id the ID of the comment
+      * @return the author's username, or empty if the comment does not exist
+      */
+     @Query("select c.author.username from Comment c where c.id = :id")
+     Optional<String> findAuthorUsernameById(@Param("id") Long id);
+
+     /**
+      * Checks whether the user wrote any live comment.
+      *
+      * @param authorId the ID of the user
+      * @return {@code true} if at least one comment was written by the user
+      */
+     boolean existsByAuthorId(Long authorId);
+
+     /**
+      * Returns the first comments of a task's timeline, oldest first.
+      * Only the page size from {@code limit} is used; no count query is issued.
+      *
+      * @param taskId the ID of the task
+      * @param limit  the maximum number of rows to return
+      * @return the comments projected directly into DTOs
+      */
+     @Query("select new com.klm.taskmanagement.task.dto.CommentDto(c.id, c.content, c.createdAt, c.task.id, c.author.id) "
+             + "from Comment c where c.task.id = :taskId order by c.createdAt asc, c.id asc")
+     List<CommentDto> findTimeline(@Param("taskId") Long taskId, Pageable limit);
+
+     /**
+      * Returns the timeline comments of a task positioned strictly after {@code (createdAt, id)}, oldest first.
+      *
+      * @param taskId    the ID of the task
+      * @param createdAt the creation time of the last comment already returned
+      * @param id        the ID of the last comment already returned
+      * @param limit     the maximum number of rows to return
+      * @return the comments projected directly into DTOs
+      */
+     @Query("select new com.klm.taskmanagement.task.dto.CommentDto(c.id, c.content, c.createdAt, c.task.id, c.author.id) "
+             + "from Comment c where c.task.id = :taskId "
+             + "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) "
+             + "order by c.createdAt asc, c.id asc")
+     List<CommentDto> findTimelineAfter(@Param("taskId") Long taskId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable limit);
+
+     /**
+      * Deletes all comments of a task with a single set-based DELETE,
+      * without loading them into the persistence context.
+      *
+      * @param taskId the ID of the task
+      * @return the number of deleted comments
+      */
+     @Modifying
+     @Query("delete from Comment c where c.task.id = :taskId")
+     int deleteAllByTaskId(@Param("taskId") Long taskId);
+
+     /**
+      * Soft-deletes a comment with a single-row UPDATE; the row is purged later.
+      *
+      * @param id  the ID of the comment
+      * @param now the deletion time
+      * @return the number of updated rows
+      */
+     @Modifying
+     @Query("update Comment c set c.deletedAt = :now where c.id = :id and c.deletedAt is null")
+     int softDeleteById(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+     /**
+      * Soft-deletes all comments of a task with a single set-based UPDATE.
+      *
+      * @param taskId the ID of the task
+      * @param now    the deletion time
+      * @return the number of updated rows
+      */
+     @Modifying
+     @Query("update Comment c set c.deletedAt = :now where c.task.id = :taskId and c.deletedAt is null")
+     int softDeleteAllByTaskId(@Param("taskId") Long taskId, @Param("now") LocalDateTime now);
 }
@@ -1,7 +1,18 @@
 package com.klm.taskmanagement.task.repository;
 
 import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import com.klm.taskmanagement.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Repository interface for managing {@link Task} entities.
@@ -12,4 +23,112 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface TaskRepository extends JpaRepository<Task, Long> {
     // Add custom query methods here if needed, for example:
     // List<Task> findByStatus(String status);
+
+    /**
+     * Checks whether any live task is assigned to the user.
+     *
+     * @param userId the ID of the user
+     * @return {@code true} if at least one task is assigned to the user
+     */
+    boolean existsByAssignedUserId(Long userId);
+
+    /**
+     * Atomically increments a task's comment count and records the activity (and update) time.
+     * Runs as a single UPDATE, so concurrent comments never lose increments, and it does not
+     * bump the task's {@code @Version} (editing a task is not blocked by comments).
+     *
+     * @param taskId the ID of the task
+     * @param now    the activity time
+     * @return the number of updated rows (0 if the task does not exist)
+     */
+    @Modifying
+    @Query("update Task t set t.commentCount = t.commentCount + 1, t.lastActivityAt = :now, t.updatedAt = :now "
+            + "where t.id = :taskId")
+    int incrementCommentCount(@Param("taskId") Long taskId, @Param("now") LocalDateTime now);
+
+    /**
+     * Atomically decrements a task's comment count (never below zero) and records the activity (and update) time.
+     *
+     * @param taskId the ID of the task
+     * @param now    the activity time
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update Task t set t.commentCount = t.commentCount - 1, t.lastActivityAt = :now, t.updatedAt = :now "
+            + "where t.id = :taskId and t.commentCount > 0")
+    int decrementCommentCount(@Param("taskId") Long taskId, @Param("now") LocalDateTime now);
+
+    /**
+     * Overwrites a task only if it still has the expected version, as one UPDATE with no prior SELECT.
+     * Bumps the version, keeps {@code completedAt} while the task stays DONE and clears it otherwise.
+     *
+     * @param taskId          the ID of the task
+     * @param expectedVersion the version the client last read
+     * @param title           the new title
+     * @param description     the new description
+     * @param status          the new status
+     * @param priority        the new priority
+     * @param targetDate      the new target date
+     * @param assignee        reference to the new assignee (the foreign key checks it exists)
+     * @param done            whether the new status is DONE
+     * @param now             the update time
+     * @return 1 if updated; 0 if the task does not exist or its version has changed
+     */
+    @Modifying
+    @Query("update Task t set t.title = :title, t.description = :description, t.status = :status, "
+            + "t.priority = :priority, t.targetDate = :targetDate, t.assignedUser = :assignee, "
+            + "t.completedAt = case when :done = true then coalesce(t.completedAt, :now) else null end, "
+            + "t.updatedAt = :now, t.version = t.version + 1 "
+            + "where t.id = :taskId and t.version = :expectedVersion and t.deletedAt is null")
+    int updateIfVersion(@Param("taskId") Long taskId,
+                        @Param("expectedVersion") int expectedVersion,
+                        @Param("title") String title,
+                        @Param("description") String description,
+                        @Param("status") TaskStatus status,
+                        @Param("priority") TaskPriority priority,
+                        @Param("targetDate") LocalDate targetDate,
+                        @Param("assignee") User assignee,
+                        @Param("done") boolean done,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Returns a task's optimistic-lock version without loading the task.
+     *
+     * @param taskId the ID of the task
+     * @return the version
+     */
+    @Query("select t.version from Task t where t.id = :taskId")
+    int findVersionById(@Param("taskId") Long taskId);
+
+    /**
+     * Deletes a task row directly, bypassing the {@code comments} cascade.
+     * Its comments must already have been removed with {@link CommentRepository#deleteAllByTaskId(Long)}.
+     * Clears the persistence context afterwards so no stale task instance stays managed.
+     *
+     * @param taskId the ID of the task
+     * @return the number of deleted rows
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id = :taskId")
+    int deleteTaskById(@Param("taskId") Long taskId);
+
+    /**
+     * Soft-deletes a task with a single-row UPDATE; the row is purged later.
+     *
+     * @param taskId the ID of the task
+     * @param now    the deletion time
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update Task t set t.deletedAt = :now where t.id = :taskId and t.deletedAt is null")
+    int softDeleteById(@Param("taskId") Long taskId, @Param("now") LocalDateTime now);
+
+    /**
+     * Returns the live tasks after an ID in ID order, for a client's first sync.
+     *
+     * @param id    the last task ID the client has received
+     * @param limit the maximum number of tasks (only the page size is used)
+     * @return the tasks
+     */
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limit);
 }
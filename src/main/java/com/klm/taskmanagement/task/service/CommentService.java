@@ -2,8 +2,12 @@ package com.klm.taskmanagement.task.service;
 
 import com.klm.taskmanagement.task.dto.CommentDto;
 import com.klm.taskmanagement.task.dto.CommentRequestDto;
+import com.klm.taskmanagement.task.dto.CommentTimelineDto;
 import org.springframework.data.domain.Page;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Service interface for managing comments on tasks.
  */
@@ -26,6 +30,28 @@ public interface CommentService {
      */
     Page<CommentDto> getCommentsByTaskId(Long taskId, int page, int size);
 
+    /**
+     * Retrieves comments for a given task, selecting only the requested fields.
+     *
+     * @param taskId the ID of the task
+     * @param page   the page number (0-based)
+     * @param size   the size of the page
+     * @param fields the {@link CommentDto} field names to include in each row
+     * @return a Page of rows containing only the requested fields
+     */
+    Page<Map<String, Object>> getCommentsByTaskId(Long taskId, int page, int size, Set<String> fields);
+
+    /**
+     * Retrieves one page of a task's comments ordered by creation time (oldest first),
+     * using keyset pagination instead of offsets and without a total count.
+     *
+     * @param taskId the ID of the task
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of comments to return
+     * @return the page of comments and the cursor for the next page
+     */
+    CommentTimelineDto getCommentTimeline(Long taskId, String cursor, int size);
+
     /**
      * Deletes a comment by its ID.
      *
@@ -1,22 +1,34 @@
 package com.klm.taskmanagement.task.service;
 
+import com.klm.taskmanagement.config.CommentSecurityConfig;
 import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.pagination.KeysetCursor;
+import com.klm.taskmanagement.global.projection.SparseFieldsetQuery;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.changefeed.TaskChangeType;
 import com.klm.taskmanagement.task.dto.CommentDto;
 import com.klm.taskmanagement.task.dto.CommentRequestDto;
+import com.klm.taskmanagement.task.dto.CommentTimelineDto;
 import com.klm.taskmanagement.task.entity.Comment;
-import com.klm.taskmanagement.task.entity.Task;
 import com.klm.taskmanagement.task.repository.CommentRepository;
 import com.klm.taskmanagement.task.repository.TaskRepository;
-import com.klm.taskmanagement.user.entity.User;
 import com.klm.taskmanagement.user.repository.UserRepository;
+import com.klm.taskmanagement.websocket.TaskTopicEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of {@link CommentService} to manage comment-related business logic.
@@ -25,29 +37,68 @@ import java.time.LocalDateTime;
 @Transactional
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService{
+    /**
+     * Fields of {@link CommentDto} that may be requested as a sparse fieldset,
+     * mapped to their {@link Comment} attribute paths.
+     */
+    private static final Map<String, String> SPARSE_FIELDS = Map.of(
+            "id", "id",
+            "comment", "content",
+            "createdAt", "createdAt",
+            "taskId", "task.id",
+            "authorId", "author.id"
+    );
+
+    /**
+     * Stable comment order: creation time, with the ID breaking ties.
+     */
+    private static final Sort TIMELINE_ORDER = Sort.by("createdAt", "id");
+    private static final int MAX_TIMELINE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final SparseFieldsetQuery sparseFieldsetQuery;
+    private final CommentSecurityConfig commentSecurity;
+    // Delivered to /topic/tasks/{id} after commit
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeletionPolicy deletionPolicy;
+    // The comment count is part of the synced task, so comment writes are task changes too
+    private final TaskChangeRecorder taskChangeRecorder;
     /**
      * {@inheritDoc}
      */
     @Override
     public CommentDto createComment(CommentRequestDto dto) {
-        Task task = taskRepository.findById(dto.taskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        LocalDateTime now = LocalDateTime.now();
+        // The counter update doubles as the task existence check, so the task is never loaded
+        if (taskRepository.incrementCommentCount(dto.taskId(), now) == 0) {
+            throw new ResourceNotFoundException("Task not found");
+        }
 
-        User author = userRepository.findById(dto.authorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
+        // A soft-deleted author still has a row, so the foreign key alone would accept it
+        if (deletionPolicy.isSoft() && !userRepository.existsById(dto.authorId())) {
+            throw new ResourceNotFoundException("Author not found");
+        }
 
         Comment comment = new Comment();
         comment.setContent(dto.content());
-        comment.setTask(task);
-        comment.setAuthor(author);
-        comment.setCreatedAt(LocalDateTime.now());
+        comment.setTask(taskRepository.getReferenceById(dto.taskId()));
+        comment.setAuthor(userRepository.getReferenceById(dto.authorId()));
+        comment.setCreatedAt(now);
 
-        Comment saved = commentRepository.save(comment);
+        Comment saved;
+        try {
+            // Flush now so a missing author surfaces here as a foreign-key violation
+            saved = commentRepository.saveAndFlush(comment);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException("Author not found");
+        }
 
-        return mapToDto(saved);
+        taskChangeRecorder.record(dto.taskId(), TaskChangeType.COMMENTED, taskRepository.findVersionById(dto.taskId()));
+        CommentDto created = mapToDto(saved);
+        eventPublisher.publishEvent(new TaskTopicEvent(TaskTopicEvent.Type.COMMENT_CREATED, dto.taskId(), created));
+        return created;
     }
 
     /**
@@ -55,11 +106,47 @@ public class CommentServiceImpl implements CommentService{
      */
     @Override
     public Page<CommentDto> getCommentsByTaskId(Long taskId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, TIMELINE_ORDER);
         return commentRepository.findByTaskId(taskId, pageable)
                 .map(this::mapToDto);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Map<String, Object>> getCommentsByTaskId(Long taskId, int page, int size, Set<String> fields) {
+        return sparseFieldsetQuery.findPage(Comment.class, SPARSE_FIELDS, fields,
+                Map.of("task.id", taskId), PageRequest.of(page, size, TIMELINE_ORDER));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Reads one row more than requested to learn whether another page exists.
+     */
+    @Override
+    public CommentTimelineDto getCommentTimeline(Long taskId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_TIMELINE_SIZE));
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<CommentDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentRepository.findTimeline(taskId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = commentRepository.findTimelineAfter(taskId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<CommentDto> comments = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            CommentDto last = comments.get(comments.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CommentTimelineDto(comments, nextCursor, hasNext);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -69,8 +156,17 @@ public class CommentServiceImpl implements CommentService{
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
 
-        commentRepository.delete(comment);
-
+        Long taskId = comment.getTask().getId();
+        LocalDateTime now = LocalDateTime.now();
+        if (deletionPolicy.isSoft()) {
+            commentRepository.softDeleteById(commentId, now);
+        } else {
+            commentRepository.delete(comment);
+        }
+        taskRepository.decrementCommentCount(taskId, now);
+        taskChangeRecorder.record(taskId, TaskChangeType.COMMENTED, taskRepository.findVersionById(taskId));
+        commentSecurity.evict(commentId);
+        eventPublisher.publishEvent(new TaskTopicEvent(TaskTopicEvent.Type.COMMENT_DELETED, taskId, commentId));
 
     }
 
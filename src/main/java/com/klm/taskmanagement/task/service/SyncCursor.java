@@ -0,0 +1,51 @@
+package com.klm.taskmanagement.task.service;
+
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque task sync position: the last change log sequence the client has applied and,
+ * while its first download is still running, the ID of the last live task it received.
+ * <p>
+ * Change sequences follow commit order, so a client holding sequence {@code N} has seen
+ * every change up to {@code N} and no commit can later appear below it.
+ *
+ * @param sequence    the change log sequence the client is up to date with
+ * @param afterTaskId the last task ID of an unfinished first download, or {@code null} once it is complete
+ */
+record SyncCursor(long sequence, Long afterTaskId) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor as a URL-safe string for clients.
+     *
+     * @return the opaque cursor string
+     */
+    String encode() {
+        String raw = Long.toString(sequence) + SEPARATOR + (afterTaskId == null ? "" : afterTaskId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor string
+     * @return the decoded cursor
+     * @throws BadRequestException if the cursor is malformed
+     */
+    static SyncCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            String afterTaskId = raw.substring(separator + 1);
+            return new SyncCursor(Long.parseLong(raw.substring(0, separator)),
+                    afterTaskId.isEmpty() ? null : Long.valueOf(afterTaskId));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException(AppConstants.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.klm.taskmanagement.task.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.BadRequestException;
+import com.klm.taskmanagement.task.dto.TaskRequestDto;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a JSON Merge Patch (RFC 7396) document for a task.
+ * <p>
+ * Only the members present in the document are returned; an explicit {@code null} clears the
+ * field. Each provided value is converted to its field type and validated against the same
+ * constraints as {@link TaskRequestDto}, so PATCH and PUT accept the same values.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskMergePatch {
+
+    /**
+     * Patchable fields and their types.
+     */
+    private static final Map<String, Class<?>> FIELDS = Map.of(
+            "title", String.class,
+            "description", String.class,
+            "status", TaskStatus.class,
+            "priority", TaskPriority.class,
+            "targetDate", LocalDate.class,
+            "assignedUserId", Long.class
+    );
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Converts and validates the members of a merge patch document.
+     *
+     * @param patch the merge patch document
+     * @return field name to new value (possibly {@code null}), in document order
+     * @throws BadRequestException          if the document is not an object, or has unknown or unreadable members
+     * @throws ConstraintViolationException if a provided value breaks a field constraint
+     */
+    public Map<String, Object> read(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException(AppConstants.INVALID_MERGE_PATCH);
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        List<String> unknown = new ArrayList<>();
+        Set<ConstraintViolation<TaskRequestDto>> violations = new HashSet<>();
+        for (Map.Entry<String, JsonNode> member : patch.properties()) {
+            String field = member.getKey();
+            Class<?> type = FIELDS.get(field);
+            if (type == null) {
+                unknown.add(field);
+                continue;
+            }
+            Object value = convert(field, member.getValue(), type);
+            violations.addAll(validator.validateValue(TaskRequestDto.class, field, value));
+            values.put(field, value);
+        }
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException(AppConstants.UNKNOWN_PATCH_FIELDS + String.join(", ", unknown));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return values;
+    }
+
+    private Object convert(String field, JsonNode value, Class<?> type) {
+        try {
+            return objectMapper.treeToValue(value, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new BadRequestException(AppConstants.INVALID_PATCH_VALUE + field);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.klm.taskmanagement.task.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.klm.taskmanagement.task.dto.TaskAuditDto;
 import com.klm.taskmanagement.task.dto.TaskDto;
 import com.klm.taskmanagement.task.dto.TaskRequestDto;
+import com.klm.taskmanagement.task.dto.TaskSyncDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Service interface for managing tasks.
  */
@@ -33,6 +40,15 @@ public interface TaskService {
      */
     Page<TaskDto> getAllTasks(Pageable pageable);
 
+    /**
+     * Retrieves all tasks, selecting only the requested fields.
+     *
+     * @param pageable the pagination information (page number, size, sorting)
+     * @param fields   the {@link TaskDto} field names to include in each row
+     * @return a Page of rows containing only the requested fields
+     */
+    Page<Map<String, Object>> getAllTasks(Pageable pageable, Set<String> fields);
+
     /**
      * Updates an existing task.
      *
@@ -42,10 +58,59 @@ public interface TaskService {
      */
     TaskDto updateTask(Long id, TaskRequestDto taskCreateDTO);
 
+    /**
+     * Updates an existing task only if it is still at the version the client last read.
+     *
+     * @param id              the task ID
+     * @param taskCreateDTO   the updated task data
+     * @param expectedVersion the version from the client's {@code If-Match} header
+     * @return the updated TaskDTO
+     * @throws com.klm.taskmanagement.global.exception.PreconditionFailedException if the version has changed
+     */
+    TaskDto updateTask(Long id, TaskRequestDto taskCreateDTO, int expectedVersion);
+
+    /**
+     * Partially updates a task from a JSON Merge Patch document.
+     *
+     * @param id    the task ID
+     * @param patch the merge patch; only the fields it contains are changed
+     * @return the updated TaskDTO
+     */
+    TaskDto patchTask(Long id, JsonNode patch);
+
+    /**
+     * Partially updates a task only if it is still at the version the client last read.
+     *
+     * @param id              the task ID
+     * @param patch           the merge patch; only the fields it contains are changed
+     * @param expectedVersion the version from the client's {@code If-Match} header
+     * @return the updated TaskDTO
+     * @throws com.klm.taskmanagement.global.exception.PreconditionFailedException if the version has changed
+     */
+    TaskDto patchTask(Long id, JsonNode patch, int expectedVersion);
+
     /**
      * Deletes a task by its ID.
      *
      * @param id the task ID
      */
     void deleteTask(Long id);
+
+    /**
+     * Returns the tasks changed and the IDs of tasks deleted since a client's sync cursor.
+     *
+     * @param cursor the cursor from the previous sync; omit for the first sync
+     * @param size   the maximum number of changes, or of tasks during the first download, to return
+     * @return the changes, tombstones and the cursor for the next sync
+     */
+    TaskSyncDto syncTasks(String cursor, int size);
+
+    /**
+     * Retrieves the field-level change history of a task, oldest first.
+     * Recent changes may be missing while they are still queued for writing.
+     *
+     * @param id the task ID
+     * @return the recorded changes
+     */
+    List<TaskAuditDto> getTaskHistory(Long id);
 }
@@ -1,26 +1,60 @@
 package com.klm.taskmanagement.task.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.klm.taskmanagement.global.AppConstants;
 import com.klm.taskmanagement.global.exception.ConflictException;
+import com.klm.taskmanagement.global.exception.PreconditionFailedException;
 import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.projection.SparseFieldsetQuery;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.task.archive.ArchivedTask;
+import com.klm.taskmanagement.task.archive.ArchivedTaskRepository;
+import com.klm.taskmanagement.task.audit.TaskAuditEntry;
+import com.klm.taskmanagement.task.audit.TaskAuditEvent;
+import com.klm.taskmanagement.task.audit.TaskAuditLogRepository;
+import com.klm.taskmanagement.task.audit.TaskSnapshot;
+import com.klm.taskmanagement.task.changefeed.TaskChange;
+import com.klm.taskmanagement.task.changefeed.TaskChangeLog;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.changefeed.TaskChangeType;
+import com.klm.taskmanagement.task.dto.TaskAuditDto;
 import com.klm.taskmanagement.task.dto.TaskDto;
 import com.klm.taskmanagement.task.dto.TaskRequestDto;
+import com.klm.taskmanagement.task.dto.TaskSyncDto;
 import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import com.klm.taskmanagement.task.repository.CommentRepository;
 import com.klm.taskmanagement.task.repository.TaskRepository;
 import com.klm.taskmanagement.user.entity.Role;
 import com.klm.taskmanagement.user.entity.User;
 import com.klm.taskmanagement.user.repository.UserRepository;
 import com.klm.taskmanagement.websocket.NotificationMessage;
+import com.klm.taskmanagement.websocket.TaskTopicEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link TaskService} interface that provides
@@ -32,9 +66,42 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    /**
+     * Fields of {@link TaskDto} that may be requested as a sparse fieldset,
+     * mapped to their {@link Task} attribute paths.
+     */
+    private static final Map<String, String> SPARSE_FIELDS = Map.of(
+            "id", "id",
+            "title", "title",
+            "description", "description",
+            "status", "status",
+            "priority", "priority",
+            "targetDate", "targetDate",
+            "commentCount", "commentCount",
+            "lastActivityAt", "lastActivityAt",
+            "version", "version"
+    );
+
+    private static final int MAX_SYNC_SIZE = 1000;
+    // Changes that remove a task from the live list
+    private static final Set<TaskChangeType> TOMBSTONES = Set.of(TaskChangeType.DELETED, TaskChangeType.ARCHIVED);
+
     private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final SparseFieldsetQuery sparseFieldsetQuery;
+    // Delivered to /topic/tasks/{id} after commit
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeletionPolicy deletionPolicy;
+    // Completed tasks moved out of the live table; read only as a fallback
+    private final ArchivedTaskRepository archivedTaskRepository;
+    // Append-only change history, written asynchronously by TaskAuditWriter
+    private final TaskAuditLogRepository taskAuditLogRepository;
+    // Durable change sequence behind the SSE change feed
+    private final TaskChangeRecorder taskChangeRecorder;
+    private final TaskChangeLog taskChangeLog;
+    private final TaskMergePatch taskMergePatch;
 
 
     /**
@@ -44,28 +111,35 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto createTask(TaskRequestDto taskCreateDTO) {
         Task task = new Task();
         mapToEntity(taskCreateDTO, task);
+        task.setLastActivityAt(LocalDateTime.now());
+        Task saved = saveAndFlush(task, taskCreateDTO.assignedUserId());
+        taskChangeRecorder.record(saved.getId(), TaskChangeType.CREATED, saved.getVersion());
         // 🔔 Notify WebSocket subscribers of the new task
         messagingTemplate.convertAndSend(
                 "/topic/updates",
                 new NotificationMessage("🆕 Task created: " + taskCreateDTO.title())
         );
-        return toDTO(taskRepository.save(task));
+        return toDTO(saved);
     }
 
     /**
      * Converts a Task entity to TaskDto record.
+     * Package-private so the mapping can be benchmarked on its own.
      *
      * @param task the Task entity
      * @return the TaskDto record
      */
-    private TaskDto toDTO(Task task) {
+    static TaskDto toDTO(Task task) {
         return new TaskDto(
                 task.getId(),
                 task.getTitle(),
                 task.getDescription(),
                 task.getStatus(),
                 task.getPriority(),
-                task.getTargetDate()
+                task.getTargetDate(),
+                task.getCommentCount(),
+                task.getLastActivityAt(),
+                task.getVersion()
         );
 
     }
@@ -81,11 +155,37 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException(AppConstants.TASK_NOT_FOUND + id));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Falls back to the archive for completed tasks that have been moved out of the live table.
+     */
     @Override
     public TaskDto getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        return taskRepository.findById(id)
+                .map(TaskServiceImpl::toDTO)
+                .or(() -> archivedTaskRepository.findById(id).map(TaskServiceImpl::toDTO))
                 .orElseThrow(() -> new ResourceNotFoundException(AppConstants.TASK_NOT_FOUND + id));
-        return toDTO(task);
+    }
+
+    /**
+     * Converts an archived task to the same TaskDto record as a live task.
+     *
+     * @param task the archived task
+     * @return the TaskDto record
+     */
+    static TaskDto toDTO(ArchivedTask task) {
+        return new TaskDto(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getTargetDate(),
+                task.getCommentCount(),
+                task.getLastActivityAt(),
+                task.getVersion()
+        );
     }
 
 
@@ -96,36 +196,259 @@ public class TaskServiceImpl implements TaskService {
     public Page<TaskDto> getAllTasks(Pageable pageable) {
 
         return taskRepository.findAll(pageable)
-                .map(this::toDTO);
+                .map(TaskServiceImpl::toDTO);
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Map<String, Object>> getAllTasks(Pageable pageable, Set<String> fields) {
+        return sparseFieldsetQuery.findPage(Task.class, SPARSE_FIELDS, fields, Map.of(), pageable);
+    }
+
     @Override
     public TaskDto updateTask(Long id, TaskRequestDto dto) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(AppConstants.TASK_NOT_FOUND + id));
+        Task task = findTaskById(id);
+        TaskSnapshot before = TaskSnapshot.of(task);
 
         task.setTitle(dto.title());
         task.setDescription(dto.description());
         task.setTargetDate(dto.targetDate());
+        trackCompletion(task, dto.status());
         task.setStatus(dto.status());
         task.setPriority(dto.priority());
-        // ✅ Update assigned user if needed
-        User user = userRepository.findById(dto.assignedUserId())
-                .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + dto.assignedUserId()));
-        task.setAssignedUser(user);
+        // ✅ Update assigned user if needed (reference only; the foreign key checks it exists)
+        task.setAssignedUser(assigneeReference(dto.assignedUserId()));
+        saveVersioned(task, dto.assignedUserId(), null);
+        return publishUpdate(task, toDTO(task), before);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Runs a single versioned UPDATE without reading the task first; only an UPDATE that
+     * matches no row checks whether the task exists. The comment count and last activity are
+     * therefore not known and are left out of the returned DTO, and the audit history records
+     * the written values without the previous ones.
+     */
+    @Override
+    public TaskDto updateTask(Long id, TaskRequestDto dto, int expectedVersion) {
+        Task written = new Task();
+        written.setId(id);
+        written.setTitle(dto.title());
+        written.setDescription(dto.description());
+        written.setStatus(dto.status());
+        written.setPriority(dto.priority());
+        written.setTargetDate(dto.targetDate());
+        written.setAssignedUser(assigneeReference(dto.assignedUserId()));
+        written.setVersion(expectedVersion + 1);
+        int updated;
+        try {
+            updated = taskRepository.updateIfVersion(id, expectedVersion, written.getTitle(), written.getDescription(),
+                    written.getStatus(), written.getPriority(), written.getTargetDate(), written.getAssignedUser(),
+                    written.getStatus() == TaskStatus.DONE, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException(AppConstants.USER_NOT_AVAILABLE + dto.assignedUserId());
+        }
+        if (updated == 0) {
+            // Only the failure path reads: tell a missing task from a stale version
+            if (!taskRepository.existsById(id)) {
+                throw new ResourceNotFoundException(AppConstants.TASK_NOT_FOUND + id);
+            }
+            throw new PreconditionFailedException(AppConstants.PRECONDITION_FAILED);
+        }
+        TaskDto result = new TaskDto(id, written.getTitle(), written.getDescription(), written.getStatus(),
+                written.getPriority(), written.getTargetDate(), null, null, written.getVersion());
+        return publishUpdate(written, result, TaskSnapshot.unread(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the provided fields are set and the assignee is re-linked only when its ID changes.
+     * {@link Task} uses dynamic updates, so the UPDATE statement lists just the changed columns;
+     * a patch that changes nothing issues no UPDATE at all.
+     */
+    @Override
+    public TaskDto patchTask(Long id, JsonNode patch) {
+        return applyPatch(id, patch, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TaskDto patchTask(Long id, JsonNode patch, int expectedVersion) {
+        return applyPatch(id, patch, expectedVersion);
+    }
+
+    /**
+     * Applies a merge patch to a task.
+     *
+     * @param id              the task ID
+     * @param patch           the merge patch document
+     * @param expectedVersion the version from {@code If-Match}, or {@code null} for an unconditional patch
+     * @return the updated TaskDto
+     */
+    private TaskDto applyPatch(Long id, JsonNode patch, Integer expectedVersion) {
+        Map<String, Object> values = taskMergePatch.read(patch);
+        Task task = findTaskById(id);
+        checkVersion(task, expectedVersion);
+        TaskSnapshot before = TaskSnapshot.of(task);
+        values.forEach((field, value) -> applyPatchValue(task, field, value));
+        if (before.equals(TaskSnapshot.of(task))) {
+            return toDTO(task);
+        }
+        saveVersioned(task, task.getAssignedUser().getId(), expectedVersion);
+        return publishUpdate(task, toDTO(task), before);
+    }
+
+    /**
+     * Rejects a conditional write when the task is no longer at the version the client read.
+     *
+     * @param task            the loaded task
+     * @param expectedVersion the version from {@code If-Match}, or {@code null} to skip the check
+     * @throws PreconditionFailedException if the versions differ
+     */
+    private static void checkVersion(Task task, Integer expectedVersion) {
+        if (expectedVersion != null && task.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException(AppConstants.PRECONDITION_FAILED);
+        }
+    }
+
+    /**
+     * Flushes a changed task. A concurrent change caught by the version check is a 412 for a
+     * conditional write and a 409 otherwise.
+     *
+     * @param task            the changed task
+     * @param assignedUserId  the ID of the assignee referenced by the task
+     * @param expectedVersion the version from {@code If-Match}, or {@code null}
+     */
+    private void saveVersioned(Task task, Long assignedUserId, Integer expectedVersion) {
         try {
-            taskRepository.save(task);
-            // 🔔 Notify clients of task update
-            messagingTemplate.convertAndSend(
-                    "/topic/updates",
-                    new NotificationMessage("✏️ Task updated: " + dto.title())
-            );
+            saveAndFlush(task, assignedUserId);
         } catch (ObjectOptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException(AppConstants.PRECONDITION_FAILED);
+            }
             throw new ConflictException(AppConstants.CONFLICT_EXCEPTION);
         }
+    }
+
+    /**
+     * Sets one merge patch value on a task. Values were validated by {@link TaskMergePatch}.
+     *
+     * @param task  the task being patched
+     * @param field the patched field
+     * @param value the new value
+     */
+    private void applyPatchValue(Task task, String field, Object value) {
+        switch (field) {
+            case "title" -> task.setTitle((String) value);
+            case "description" -> task.setDescription((String) value);
+            case "status" -> {
+                trackCompletion(task, (TaskStatus) value);
+                task.setStatus((TaskStatus) value);
+            }
+            case "priority" -> task.setPriority((TaskPriority) value);
+            case "targetDate" -> task.setTargetDate((LocalDate) value);
+            case "assignedUserId" -> {
+                // Reading the ID of the lazy assignee does not load it
+                if (!value.equals(task.getAssignedUser().getId())) {
+                    task.setAssignedUser(assigneeReference((Long) value));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unsupported patch field: " + field);
+        }
+    }
+
+    /**
+     * Notifies clients and records the change of an updated task.
+     *
+     * @param task    the saved task
+     * @param updated the task as returned to the caller and broadcast
+     * @param before  the task's audited fields before the update
+     * @return the updated TaskDto
+     */
+    private TaskDto publishUpdate(Task task, TaskDto updated, TaskSnapshot before) {
+        // 🔔 Notify clients of task update
+        messagingTemplate.convertAndSend(
+                "/topic/updates",
+                new NotificationMessage("✏️ Task updated: " + task.getTitle())
+        );
+        taskChangeRecorder.record(task.getId(), TaskChangeType.UPDATED, task.getVersion());
+        eventPublisher.publishEvent(new TaskTopicEvent(TaskTopicEvent.Type.TASK_UPDATED, task.getId(), updated));
+        List<TaskAuditEntry> changes = before.diff(TaskSnapshot.of(task), currentUsername(), LocalDateTime.now());
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new TaskAuditEvent(changes));
+        }
+        return updated;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The cursor is a change log sequence. A first sync notes a sequence below which no change
+     * can still commit and pages through the live tasks by ID; the changes made meanwhile follow
+     * in the next responses. Later syncs read the next changes from the log, stopping at a gap
+     * that a running transaction may still fill, so no change can commit behind a client's
+     * cursor. The cost follows the number of changes rather than the number of tasks.
+     */
+    @Override
+    public TaskSyncDto syncTasks(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SYNC_SIZE));
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        SyncCursor after = cursor == null || cursor.isBlank()
+                ? new SyncCursor(taskChangeLog.stableSequence(), 0L)
+                : SyncCursor.decode(cursor);
+        if (after.afterTaskId() != null) {
+            // First download: the live tasks, and nothing deleted to report yet
+            List<Task> rows = taskRepository.findByIdGreaterThanOrderByIdAsc(after.afterTaskId(), limit);
+            boolean hasMore = rows.size() > pageSize;
+            List<Task> tasks = hasMore ? rows.subList(0, pageSize) : rows;
+            SyncCursor next = new SyncCursor(after.sequence(), hasMore ? tasks.get(pageSize - 1).getId() : null);
+            return new TaskSyncDto(tasks.stream().map(TaskServiceImpl::toDTO).toList(), List.of(), next.encode(), true);
+        }
 
-        return toDTO(task);
+        List<TaskChange> rows = taskChangeLog.readAfter(after.sequence(), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskChange> changes = hasMore ? rows.subList(0, pageSize) : rows;
+        // A task's latest change in the page decides whether it is sent or tombstoned
+        Map<Long, TaskChangeType> latest = new LinkedHashMap<>();
+        changes.forEach(change -> {
+            latest.remove(change.getTaskId());
+            latest.put(change.getTaskId(), change.getType());
+        });
+        List<Long> deleted = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        latest.forEach((taskId, type) -> (TOMBSTONES.contains(type) ? deleted : changedIds).add(taskId));
+        // A task missing here was removed by a later change, which a following response reports
+        Map<Long, Task> tasks = taskRepository.findAllById(changedIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskDto> changed = changedIds.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(TaskServiceImpl::toDTO)
+                .toList();
+        long sequence = changes.isEmpty() ? after.sequence() : changes.get(changes.size() - 1).getSequence();
+        return new TaskSyncDto(changed, deleted, new SyncCursor(sequence, null).encode(), hasMore);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TaskAuditDto> getTaskHistory(Long id) {
+        return taskAuditLogRepository.findByTaskIdOrderByChangedAtAscIdAsc(id).stream()
+                .map(entry -> new TaskAuditDto(
+                        entry.getFieldName(),
+                        entry.getOldValue(),
+                        entry.getNewValue(),
+                        entry.getChangedBy(),
+                        entry.getChangedAt()))
+                .toList();
     }
 
     @Override
@@ -142,12 +465,22 @@ public class TaskServiceImpl implements TaskService {
         if (roles == null || (roles.size() == 1 && roles.contains(Role.ROLE_USER))) {
             throw new AccessDeniedException(AppConstants.ACCESS_DENIED);
         }
-        taskRepository.delete(task);
+        if (deletionPolicy.isSoft()) {
+            LocalDateTime now = LocalDateTime.now();
+            taskRepository.softDeleteById(id, now);
+            commentRepository.softDeleteAllByTaskId(id, now);
+        } else {
+            // Two set-based DELETEs instead of loading and cascading over every comment
+            commentRepository.deleteAllByTaskId(id);
+            taskRepository.deleteTaskById(id);
+        }
+        taskChangeRecorder.record(id, TaskChangeType.DELETED, task.getVersion());
         // 🔔 Notify clients of task deletion
         messagingTemplate.convertAndSend(
                 "/topic/updates",
                 new NotificationMessage("❌ Task deleted: " + task.getTitle())
         );
+        eventPublisher.publishEvent(new TaskTopicEvent(TaskTopicEvent.Type.TASK_DELETED, id, id));
     }
 
     /**
@@ -159,12 +492,66 @@ public class TaskServiceImpl implements TaskService {
     private void mapToEntity(TaskRequestDto dto, Task task) {
         task.setTitle(dto.title());
         task.setDescription(dto.description());
+        trackCompletion(task, dto.status());
         task.setStatus(dto.status());
         task.setPriority(dto.priority());
         task.setTargetDate(dto.targetDate());
-        // Add this if TaskRequestDto has assignedUserId
-        User user = userRepository.findById(dto.assignedUserId())
-                .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_AVAILABLE + dto.assignedUserId()));
-        task.setAssignedUser(user);
+        // Reference only: the assignee is not loaded, the foreign key checks it exists
+        task.setAssignedUser(assigneeReference(dto.assignedUserId()));
+    }
+
+    /**
+     * Returns a reference to an assignee without loading it; the foreign key checks the row exists.
+     * A soft-deleted user still has a row, so in soft-delete mode the user is first checked with
+     * a query that honors {@code deleted_at}.
+     *
+     * @param userId the ID of the assignee
+     * @return the reference
+     * @throws ResourceNotFoundException if the user is soft-deleted
+     */
+    private User assigneeReference(Long userId) {
+        if (deletionPolicy.isSoft() && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(AppConstants.USER_NOT_AVAILABLE + userId);
+        }
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * Records when a task becomes DONE (used to decide when to archive it)
+     * and clears it when the task is reopened. Call before updating the status.
+     *
+     * @param task      the task being changed
+     * @param newStatus the status being set
+     */
+    private void trackCompletion(Task task, TaskStatus newStatus) {
+        if (newStatus != TaskStatus.DONE) {
+            task.setCompletedAt(null);
+        } else if (task.getStatus() != TaskStatus.DONE || task.getCompletedAt() == null) {
+            task.setCompletedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Returns the name of the authenticated user, or {@code null} outside a request.
+     */
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    /**
+     * Saves and flushes a task so a missing assignee surfaces immediately as a
+     * foreign-key violation, which is reported as {@link ResourceNotFoundException}.
+     *
+     * @param task           the task to save
+     * @param assignedUserId the ID of the assignee referenced by the task
+     * @return the saved task
+     */
+    private Task saveAndFlush(Task task, Long assignedUserId) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException(AppConstants.USER_NOT_AVAILABLE + assignedUserId);
+        }
     }
 }
@@ -8,10 +8,12 @@ import com.klm.taskmanagement.global.AppConstants;
 import com.klm.taskmanagement.global.response.ApiResponse;
 import com.klm.taskmanagement.user.dto.AuthResponseDto;
 import com.klm.taskmanagement.user.dto.LoginDto;
+import com.klm.taskmanagement.user.dto.RefreshTokenDto;
 import com.klm.taskmanagement.user.dto.RegisterDto;
 import com.klm.taskmanagement.user.dto.UserResponse;
 import com.klm.taskmanagement.user.entity.Role;
 import com.klm.taskmanagement.user.service.UserServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 /**
  * REST controller for handling user authentication and management.
  * Exposes endpoints for:
@@ -53,15 +56,40 @@ public class UserController {
     /**
      * Authenticates a user and issues a JWT token.
      *
-     * @param request the login request containing username and password
-     * @return response with JWT token and authenticated user information
+     * @param request     the login request containing username and password
+     * @param httpRequest the servlet request, used for per-IP rate limiting
+     * @return response with JWT token and authenticated user information, written once the
+     *         password is verified; the request thread is released meanwhile
      */
     @PostMapping("/login")
-    public ApiResponse<AuthResponseDto> login(
-            @RequestBody @Valid LoginDto request) {
-        AuthResponseDto response = userService.login(request);
-
-        return ApiResponse.success(AppConstants.USER_LOGIN, response);
+    public CompletableFuture<ApiResponse<AuthResponseDto>> login(
+            @RequestBody @Valid LoginDto request, HttpServletRequest httpRequest) {
+        return userService.login(request, httpRequest.getRemoteAddr())
+                .thenApply(response -> ApiResponse.success(AppConstants.USER_LOGIN, response));
+    }
+    /**
+     * Issues a new access token in exchange for a refresh token, without re-checking the password.
+     * The presented refresh token is rotated and must not be used again.
+     *
+     * @param request the refresh request containing the current refresh token
+     * @return response with the new access token, the rotated refresh token and user information
+     */
+    @PostMapping("/refresh")
+    public ApiResponse<AuthResponseDto> refresh(@RequestBody @Valid RefreshTokenDto request) {
+        AuthResponseDto response = userService.refresh(request);
+        return ApiResponse.success(AppConstants.TOKEN_REFRESH, response);
+    }
+    /**
+     * Logs out the caller by revoking the bearer token used for this request.
+     *
+     * @param authHeader the Authorization header carrying the bearer token
+     * @return a success response with no content
+     */
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<Void> logout(@RequestHeader(AppConstants.AUTH_HEADER) String authHeader) {
+        userService.logout(authHeader.substring(AppConstants.TOKEN_PREFIX.length()));
+        return ApiResponse.success(AppConstants.USER_LOGOUT, null);
     }
     /**
      * Updates the roles assigned to a user. Only accessible to ADMIN users.
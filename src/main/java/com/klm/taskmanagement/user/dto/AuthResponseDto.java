@@ -15,6 +15,7 @@ import java.util.Set;
  * @param userName The username of the authenticated user.
  * @param email    The email address of the authenticated user.
  * @param roles    The set of roles (permissions) assigned to the user.
+ * @param refreshToken The opaque refresh token used to obtain a new access token without logging in.
  */
-public record AuthResponseDto(String token, String userName,String email, Set<String> roles) {
+public record AuthResponseDto(String token, String userName,String email, Set<String> roles, String refreshToken) {
 }
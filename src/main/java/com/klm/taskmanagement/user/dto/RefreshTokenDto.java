@@ -0,0 +1,18 @@
+/**
+ * Contains Data Transfer Objects (DTOs) related to token refresh within the task management system.
+ *
+ * These DTOs are used to transfer data between client and server,
+ * especially during authentication and authorization processes.
+ */
+package com.klm.taskmanagement.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for exchanging a refresh token for a new access token.
+ *
+ * @param refreshToken The refresh token issued at login, registration or the previous refresh.
+ *                     Cannot be null or empty.
+ */
+public record RefreshTokenDto(@NotBlank(message = "Refresh token is required") String refreshToken) {
+}
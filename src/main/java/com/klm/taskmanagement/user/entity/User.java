@@ -9,7 +9,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 /**
  * Entity representing a user in the task management system.
@@ -25,6 +27,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "users")
+@SQLRestriction("deleted_at is null")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -57,8 +60,17 @@ public class User {
      * The roles assigned to the user, defining their permissions.
      * Stored as a collection of strings representing the role names.
      * Fetched eagerly to make roles available immediately with the user.
+     * The table is named explicitly because the purge job deletes from it directly.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     private Set<Role> roles;
+    /**
+     * When the user was soft-deleted; null while active.
+     * Rows with a value are hidden from all queries and purged later.
+     * Set only by bulk updates, so saving a stale copy cannot undelete the row.
+     */
+    @Column(updatable = false)
+    private LocalDateTime deletedAt;
 }
@@ -7,8 +7,13 @@ package com.klm.taskmanagement.user.repository;
 
 import com.klm.taskmanagement.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 /**
  * Repository interface for User entities.
@@ -42,4 +47,15 @@ public interface UserRepository extends JpaRepository<User,Long> {
      * @return True if a user with the email exists, false otherwise.
      */
     boolean existsByEmail(String email);
+    /**
+     * Soft-deletes a user with a single-row UPDATE; the row is purged later.
+     *
+     * @param id  The ID of the user.
+     * @param now The deletion time.
+     * @return The number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.deletedAt = :now where u.id = :id and u.deletedAt is null")
+    int softDeleteById(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
@@ -7,12 +7,14 @@ package com.klm.taskmanagement.user.service;
 
 import com.klm.taskmanagement.user.dto.AuthResponseDto;
 import com.klm.taskmanagement.user.dto.LoginDto;
+import com.klm.taskmanagement.user.dto.RefreshTokenDto;
 import com.klm.taskmanagement.user.dto.RegisterDto;
 import com.klm.taskmanagement.user.dto.UserResponse;
 import com.klm.taskmanagement.user.entity.Role;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for user-related operations.
@@ -31,11 +33,26 @@ public interface UserService {
     AuthResponseDto register(RegisterDto registerDto);
     /**
      * Authenticates a user with given login credentials.
+     * Password verification runs on the isolated, rate-limited login pool.
      *
      * @param loginDto DTO containing username and password.
-     * @return AuthResponseDto containing authentication token and user details.
+     * @param clientIp IP address of the caller, used for rate limiting (may be null).
+     * @return AuthResponseDto containing authentication token and user details, completed once the password is verified.
+     */
+    CompletableFuture<AuthResponseDto> login(LoginDto loginDto, String clientIp);
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token.
+     *
+     * @param refreshTokenDto DTO containing the current refresh token.
+     * @return AuthResponseDto containing the new tokens and user details.
+     */
+    AuthResponseDto refresh(RefreshTokenDto refreshTokenDto);
+    /**
+     * Revokes the given access token so it can no longer be used.
+     *
+     * @param token the raw JWT presented by the client.
      */
-    AuthResponseDto login(LoginDto loginDto);
+    void logout(String token);
     /**
      * Deletes a user by their unique ID.
      *
@@ -4,13 +4,23 @@
  */
 package com.klm.taskmanagement.user.service;
 
+import com.klm.taskmanagement.config.CommentSecurityConfig;
 import com.klm.taskmanagement.global.AppConstants;
 import com.klm.taskmanagement.global.exception.ConflictException;
 import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.security.CachingUserInfoService;
 import com.klm.taskmanagement.security.JwtTokenGenerator;
+import com.klm.taskmanagement.security.TokenInvalidationRegistry;
 import com.klm.taskmanagement.security.UserInfoDetails;
+import com.klm.taskmanagement.security.login.LoginPipeline;
+import com.klm.taskmanagement.security.refresh.RefreshTokenService;
+import com.klm.taskmanagement.security.revocation.TokenRevocationService;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.task.repository.TaskRepository;
 import com.klm.taskmanagement.user.dto.AuthResponseDto;
 import com.klm.taskmanagement.user.dto.LoginDto;
+import com.klm.taskmanagement.user.dto.RefreshTokenDto;
 import com.klm.taskmanagement.user.dto.RegisterDto;
 import com.klm.taskmanagement.user.dto.UserResponse;
 import com.klm.taskmanagement.user.entity.Role;
@@ -18,16 +28,16 @@ import com.klm.taskmanagement.user.entity.User;
 import com.klm.taskmanagement.user.mapper.UserMapper;
 import com.klm.taskmanagement.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -47,9 +57,23 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     // JWT token generator for authentication tokens
     private final JwtTokenGenerator jwtTokenGenerator;
-    // Spring Security authentication manager for login authentication
-    private final AuthenticationManager authenticationManager;
+    // Bounded, rate-limited pool that runs BCrypt verification off the request thread
+    private final LoginPipeline loginPipeline;
     private final UserMapper userMapper;
+    // Rejects previously issued tokens once a user's roles or identity change
+    private final TokenInvalidationRegistry tokenInvalidationRegistry;
+    // Cached user details that must be evicted whenever a user changes
+    private final CachingUserInfoService cachingUserInfoService;
+    // Persists revoked token ids for logout
+    private final TokenRevocationService tokenRevocationService;
+    // Opaque rotating refresh tokens, so expired access tokens don't require a new login
+    private final RefreshTokenService refreshTokenService;
+    private final DeletionPolicy deletionPolicy;
+    // Tasks and comments keep references to their users, so a referenced user is not deleted
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    // Caches comment authors by username; a freed name must not inherit them
+    private final CommentSecurityConfig commentSecurity;
 
     /**
      * Registers a new user if username/email are not taken,
@@ -68,22 +92,29 @@ public class UserServiceImpl implements UserService {
                 .password(passwordEncoder.encode(request.password()))
                 .roles(Set.of(Role.ROLE_ADMIN))
                 .build();
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Name still held by a soft-deleted user that has not been purged yet
+            throw new ConflictException(AppConstants.USERNAME_EMAIL_EXISTS);
+        }
         String token = jwtTokenGenerator.generateToken(user.getUsername(), getRoles(user.getRoles()));
-        return new AuthResponseDto(token, user.getUsername(), user.getEmail(), getRoles(user.getRoles()));
+        String refreshToken = refreshTokenService.issue(user);
+        return new AuthResponseDto(token, user.getUsername(), user.getEmail(), getRoles(user.getRoles()), refreshToken);
     }
 
     /**
-     * Authenticates user credentials and returns
-     * AuthResponseDto with token and user details.
+     * Authenticates user credentials on the login pool and returns
+     * AuthResponseDto with token and user details once verified.
+     * The tokens are issued on the login pool thread; the caller does not wait.
      */
     @Override
-    public AuthResponseDto login(LoginDto request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.username(), request.password())
-        );
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    public CompletableFuture<AuthResponseDto> login(LoginDto request, String clientIp) {
+        return loginPipeline.authenticate(request.username(), request.password(), clientIp)
+                .thenApply(this::issueTokens);
+    }
+
+    private AuthResponseDto issueTokens(Authentication authentication) {
         UserInfoDetails userDetails = (UserInfoDetails) authentication.getPrincipal();
         User user = userDetails.getUser();  // <-- get the actual User entity from your UserInfoDetails
         Set<String> roleNames = getRoles(user.getRoles());
@@ -91,11 +122,36 @@ public class UserServiceImpl implements UserService {
                 user.getUsername(),
                 roleNames
         );
-        return new AuthResponseDto(token, user.getUsername(), user.getEmail(), getRoles(user.getRoles()));
+        String refreshToken = refreshTokenService.issue(user);
+        return new AuthResponseDto(token, user.getUsername(), user.getEmail(), getRoles(user.getRoles()), refreshToken);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token.
+     * No password verification is involved; roles are read fresh from the user.
+     */
+    @Override
+    public AuthResponseDto refresh(RefreshTokenDto request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+        User user = rotation.user();
+        Set<String> roleNames = getRoles(user.getRoles());
+        String token = jwtTokenGenerator.generateToken(user.getUsername(), roleNames);
+        return new AuthResponseDto(token, user.getUsername(), user.getEmail(), roleNames, rotation.refreshToken());
+    }
+
+    /**
+     * Revokes the presented token until its expiry. Invalid tokens are ignored.
+     */
+    @Override
+    public void logout(String token) {
+        jwtTokenGenerator.resolveToken(token).ifPresent(tokenRevocationService::revoke);
     }
 
     /**
      * Deletes the user by ID if exists, otherwise throws RuntimeException.
+     * A user who is still assigned tasks or wrote comments is not deleted (409): with soft
+     * deletes those tasks and comments could no longer load the user, with hard deletes
+     * the foreign keys would reject it.
      */
     @Override
     public void deleteUser(Long id) {
@@ -104,7 +160,17 @@ public class UserServiceImpl implements UserService {
         if (isNotAdminRole(user)) {
             throw new AccessDeniedException(AppConstants.ROLE_USER_DELETE);
         }
-        userRepository.delete(user);
+        if (taskRepository.existsByAssignedUserId(user.getId()) || commentRepository.existsByAuthorId(user.getId())) {
+            throw new ConflictException(AppConstants.USER_IN_USE);
+        }
+        refreshTokenService.deleteAllForUser(user.getId());
+        if (deletionPolicy.isSoft()) {
+            userRepository.softDeleteById(user.getId(), LocalDateTime.now());
+        } else {
+            userRepository.delete(user);
+        }
+        cachingUserInfoService.evict(user.getUsername());
+        tokenInvalidationRegistry.invalidateUser(user.getUsername());
     }
 
     /**
@@ -126,9 +192,17 @@ public class UserServiceImpl implements UserService {
     public UserResponse updateUser(Long id, RegisterDto updateUser) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND));
+        String previousUsername = user.getUsername();
         user.setUsername(updateUser.userName());
         user.setEmail(updateUser.email());
         userRepository.save(user);
+        cachingUserInfoService.evict(previousUsername);
+        cachingUserInfoService.evict(user.getUsername());
+        // Tokens carry the username as subject; tokens for the old name must stop working
+        if (previousUsername != null && !previousUsername.equals(user.getUsername())) {
+            tokenInvalidationRegistry.invalidateUser(previousUsername);
+            commentSecurity.evictAll();
+        }
         return userMapper.toUserResponse(user);
 
     }
@@ -154,6 +228,9 @@ public class UserServiceImpl implements UserService {
         }
         user.setRoles(roles);
         userRepository.save(user);
+        cachingUserInfoService.evict(user.getUsername());
+        // Existing tokens still carry the old roles claim
+        tokenInvalidationRegistry.invalidateUser(user.getUsername());
         return new UserResponse(user.getId(), user.getUsername(), user.getEmail(), user.getRoles());
     }
 
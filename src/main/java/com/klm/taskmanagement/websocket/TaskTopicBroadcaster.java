@@ -0,0 +1,33 @@
+package com.klm.taskmanagement.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends {@link TaskTopicEvent}s to {@code /topic/tasks/{taskId}} once the publishing
+ * transaction has committed, so clients never see changes that were rolled back.
+ * Events for tasks without subscribers are dropped before any serialization.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskTopicBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TaskTopicRegistry taskTopicRegistry;
+
+    /**
+     * Forwards a committed change to the task's topic if anyone is watching it.
+     *
+     * @param event the change to broadcast
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskTopicEvent(TaskTopicEvent event) {
+        if (!taskTopicRegistry.hasSubscribers(event.taskId())) {
+            return;
+        }
+        messagingTemplate.convertAndSend(TaskTopicRegistry.TOPIC_PREFIX + event.taskId(), event);
+    }
+}
@@ -0,0 +1,24 @@
+package com.klm.taskmanagement.websocket;
+
+/**
+ * Message published on a task's own topic, {@code /topic/tasks/{taskId}}.
+ * <p>
+ * Services publish it as an application event; it is sent to subscribers only after the
+ * surrounding transaction commits.
+ *
+ * @param type   what happened
+ * @param taskId the task the change belongs to
+ * @param data   the changed task or comment DTO, or the ID of what was deleted
+ */
+public record TaskTopicEvent(Type type, Long taskId, Object data) {
+
+    /**
+     * Kinds of change carried on a task topic.
+     */
+    public enum Type {
+        TASK_UPDATED,
+        TASK_DELETED,
+        COMMENT_CREATED,
+        COMMENT_DELETED
+    }
+}
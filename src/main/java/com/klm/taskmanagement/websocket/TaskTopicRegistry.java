@@ -0,0 +1,129 @@
+package com.klm.taskmanagement.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks which tasks currently have STOMP subscribers on {@code /topic/tasks/{taskId}}.
+ * <p>
+ * The broadcaster consults it before sending, so changes to tasks nobody is viewing are
+ * neither serialized nor handed to the broker.
+ * <p>
+ * Subscriptions are only recorded for sessions that are connected. A SUBSCRIBE handled after
+ * its session's DISCONNECT is ignored, so it cannot leave a viewer behind that nothing
+ * would ever release. Changes to one session's subscriptions are serialized with its
+ * disconnect for the same reason.
+ */
+@Component
+public class TaskTopicRegistry {
+
+    public static final String TOPIC_PREFIX = "/topic/tasks/";
+
+    // taskId -> number of active subscriptions
+    private final Map<Long, AtomicInteger> viewers = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> taskId), to resolve UNSUBSCRIBE and DISCONNECT
+    private final Map<String, Map<String, Long>> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a newly connected session, whose subscriptions are tracked from now on.
+     *
+     * @param sessionId the STOMP session ID
+     */
+    public void connect(String sessionId) {
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Records a subscription if its destination is a task topic and the session is connected.
+     *
+     * @param sessionId      the STOMP session ID
+     * @param subscriptionId the subscription ID within the session
+     * @param destination    the subscribed destination
+     */
+    public void subscribe(String sessionId, String subscriptionId, String destination) {
+        Long taskId = parseTaskId(destination);
+        if (taskId == null || sessionId == null || subscriptionId == null) {
+            return;
+        }
+        sessions.computeIfPresent(sessionId, (id, subscriptions) -> {
+            Long previous = subscriptions.put(subscriptionId, taskId);
+            if (previous != null) {
+                release(previous);
+            }
+            viewers.compute(taskId, (task, count) -> {
+                AtomicInteger counter = count == null ? new AtomicInteger() : count;
+                counter.incrementAndGet();
+                return counter;
+            });
+            return subscriptions;
+        });
+    }
+
+    /**
+     * Removes a single subscription.
+     *
+     * @param sessionId      the STOMP session ID
+     * @param subscriptionId the subscription ID within the session
+     */
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        sessions.computeIfPresent(sessionId, (id, subscriptions) -> {
+            Long taskId = subscriptions.remove(subscriptionId);
+            if (taskId != null) {
+                release(taskId);
+            }
+            return subscriptions;
+        });
+    }
+
+    /**
+     * Removes every subscription of a disconnected session.
+     *
+     * @param sessionId the STOMP session ID
+     */
+    public void disconnect(String sessionId) {
+        Map<String, Long> subscriptions = sessionId == null ? null : sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    /**
+     * Checks whether anyone is subscribed to the task's topic.
+     *
+     * @param taskId the task ID
+     * @return {@code true} if at least one subscription is active
+     */
+    public boolean hasSubscribers(Long taskId) {
+        return viewers.containsKey(taskId);
+    }
+
+    /**
+     * Returns the number of tasks that currently have viewers.
+     */
+    public int watchedTaskCount() {
+        return viewers.size();
+    }
+
+    private void release(Long taskId) {
+        viewers.computeIfPresent(taskId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    private static Long parseTaskId(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.klm.taskmanagement.websocket;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
 /**
  * Event listener for WebSocket lifecycle events.
@@ -14,10 +17,24 @@ import org.springframework.web.socket.messaging.SessionSubscribeEvent;
  * This component listens for key WebSocket events such as client connections,
  * topic subscriptions, and disconnections. It can be used for logging, analytics,
  * debugging, and enforcing access rules on subscriptions.
+ * Subscriptions to per-task topics are tracked in the {@link TaskTopicRegistry}.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class WebSocketEventListener {
+    private final TaskTopicRegistry taskTopicRegistry;
+
+    /**
+     * Handles the client's CONNECT frame, before any of its subscriptions arrive.
+     *
+     * @param event the event representing a connection request
+     */
+    @EventListener
+    public void handleWebSocketConnectRequestListener(SessionConnectEvent event) {
+        taskTopicRegistry.connect(StompHeaderAccessor.wrap(event.getMessage()).getSessionId());
+    }
+
     /**
      * Handles new WebSocket connection events.
      *
@@ -39,6 +56,18 @@ public class WebSocketEventListener {
         String destination = accessor.getDestination();
         String sessionId = accessor.getSessionId();
         log.info("📡 WebSocket client [{}] subscribed to topic: {}", sessionId, destination);
+        taskTopicRegistry.subscribe(sessionId, accessor.getSubscriptionId(), destination);
+    }
+
+    /**
+     * Handles topic unsubscription events.
+     *
+     * @param event the event triggered when a client unsubscribes from a topic
+     */
+    @EventListener
+    public void handleUnsubscriptionListener(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        taskTopicRegistry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
     }
 
     /**
@@ -49,5 +78,6 @@ public class WebSocketEventListener {
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         log.info("🔴 WebSocket client disconnected: {}", event.getSessionId());
+        taskTopicRegistry.disconnect(event.getSessionId());
     }
 }
@@ -0,0 +1,61 @@
+package com.klm.taskmanagement.admin.query;
+
+import com.klm.taskmanagement.admin.dto.QueryInsightDto;
+import com.klm.taskmanagement.admin.dto.QueryStatsDto;
+import com.klm.taskmanagement.task.repository.TaskRepository;
+import com.klm.taskmanagement.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that {@link QueryInsight} ranks executed queries by frequency and reports Hibernate statistics.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(QueryInsight.class)
+class QueryInsightTest {
+
+    @Autowired
+    private QueryInsight queryInsight;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        queryInsight.reset();
+    }
+
+    @Test
+    void snapshot_shouldRankQueriesByExecutionCount() {
+        for (int i = 0; i < 3; i++) {
+            taskRepository.findAll(PageRequest.of(0, 10));
+        }
+        userRepository.findAll();
+
+        QueryInsightDto insight = queryInsight.snapshot(1);
+
+        assertThat(insight.queryExecutionCount()).isGreaterThanOrEqualTo(4);
+        assertThat(insight.mostFrequent()).hasSize(1);
+        QueryStatsDto top = insight.mostFrequent().get(0);
+        assertThat(top.query()).containsIgnoringCase("Task");
+        assertThat(top.executionCount()).isEqualTo(3);
+        assertThat(insight.slowest()).hasSize(1);
+    }
+
+    @Test
+    void reset_shouldClearStatistics() {
+        taskRepository.findAll(PageRequest.of(0, 10));
+
+        queryInsight.reset();
+
+        assertThat(queryInsight.snapshot(10).queryExecutionCount()).isZero();
+        assertThat(queryInsight.snapshot(10).mostFrequent()).isEmpty();
+    }
+}
@@ -0,0 +1,109 @@
+package com.klm.taskmanagement.config;
+
+import com.klm.taskmanagement.task.entity.Comment;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that comment ownership checks run a single query without loading entities,
+ * and that a cached author serves every caller without the query.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CommentSecurityConfigTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private CommentSecurityConfig commentSecurity;
+    private Statistics statistics;
+    private Long commentId;
+
+    @BeforeEach
+    void setUp() {
+        User author = entityManager.persist(User.builder()
+                .username("author").password("secret").roles(Set.of(Role.ROLE_USER)).build());
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setTargetDate(LocalDate.now().plusDays(1));
+        task.setAssignedUser(author);
+        entityManager.persist(task);
+        Comment comment = new Comment();
+        comment.setContent("Comment");
+        comment.setTask(task);
+        comment.setAuthor(author);
+        commentId = entityManager.persist(comment).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        commentSecurity = new CommentSecurityConfig(commentRepository, 100, Duration.ofMinutes(1));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void isCommentAuthor_runsSingleQueryWithoutLoadingEntities() {
+        assertThat(commentSecurity.isCommentAuthor(commentId, "author")).isTrue();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void isCommentAuthor_returnsFalseForOtherUserOrMissingComment() {
+        assertThat(commentSecurity.isCommentAuthor(commentId, "someone-else")).isFalse();
+        assertThat(commentSecurity.isCommentAuthor(commentId + 1000, "author")).isFalse();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void isCommentAuthor_sharesCachedAuthorAcrossUsers() {
+        assertThat(commentSecurity.isCommentAuthor(commentId, "someone-else")).isFalse();
+        assertThat(commentSecurity.isCommentAuthor(commentId, "author")).isTrue();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void isCommentAuthor_doesNotCacheMissingComment() {
+        commentSecurity.isCommentAuthor(commentId + 1000, "author");
+        commentSecurity.isCommentAuthor(commentId + 1000, "author");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void isCommentAuthor_reusesCachedAuthorUntilEvicted() {
+        commentSecurity.isCommentAuthor(commentId, "author");
+        commentSecurity.isCommentAuthor(commentId, "author");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        commentSecurity.evict(commentId);
+        commentSecurity.isCommentAuthor(commentId, "author");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
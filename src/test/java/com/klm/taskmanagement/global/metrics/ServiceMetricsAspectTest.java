@@ -0,0 +1,43 @@
+package com.klm.taskmanagement.global.metrics;
+
+import com.klm.taskmanagement.global.metrics.service.SampleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ServiceMetricsAspect}: timers per method and outcome, and error counters.
+ */
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void time_shouldRecordSuccessfulAndFailedCallsSeparately() {
+        SampleService service = proxy();
+
+        service.succeed();
+        service.succeed();
+        assertThatThrownBy(service::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(ServiceMetricsAspect.TIMER)
+                .tags("class", "SampleService", "method", "succeed", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+        assertThat(registry.get(ServiceMetricsAspect.TIMER)
+                .tags("method", "fail", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(ServiceMetricsAspect.ERRORS)
+                .tags("method", "fail", "exception", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private SampleService proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,18 @@
+package com.klm.taskmanagement.global.metrics.service;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Service fixture matched by the {@code ServiceMetricsAspect} pointcut.
+ */
+@Service
+public class SampleService {
+
+    public String succeed() {
+        return "ok";
+    }
+
+    public void fail() {
+        throw new IllegalStateException("failure");
+    }
+}
@@ -0,0 +1,173 @@
+package com.klm.taskmanagement.global.projection;
+
+import com.klm.taskmanagement.config.CommentSecurityConfig;
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.BadRequestException;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.task.changefeed.TaskChangeLog;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.entity.Comment;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.service.CommentService;
+import com.klm.taskmanagement.task.service.CommentServiceImpl;
+import com.klm.taskmanagement.task.service.TaskMergePatch;
+import com.klm.taskmanagement.task.service.TaskService;
+import com.klm.taskmanagement.task.service.TaskServiceImpl;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that {@link SparseFieldsetQuery} puts only the requested columns in the SQL select list,
+ * through the task and comment {@code fields=} reads, and rejects unknown fields.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.klm.taskmanagement.global.projection.SparseFieldsetQueryTest$RecordingStatementInspector")
+@Import({TaskServiceImpl.class, CommentServiceImpl.class, SparseFieldsetQuery.class, CommentSecurityConfig.class,
+        DeletionPolicy.class, TaskChangeRecorder.class, TaskChangeLog.class, TaskMergePatch.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class SparseFieldsetQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private Long userId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .username("author").password("secret").roles(Set.of(Role.ROLE_USER)).build());
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("A long description that should not be read");
+        task.setTargetDate(LocalDate.now().plusDays(1));
+        task.setAssignedUser(user);
+        entityManager.persist(task);
+        Comment comment = new Comment();
+        comment.setContent("Looks good");
+        comment.setTask(task);
+        comment.setAuthor(user);
+        entityManager.persist(comment);
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+        taskId = task.getId();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void tasks_shouldSelectOnlyRequestedColumnsInRequestOrder() {
+        Page<Map<String, Object>> page = taskService.getAllTasks(PageRequest.of(0, 10), fields("title", "id"));
+
+        assertThat(page.getContent()).containsExactly(Map.of("title", "Task", "id", taskId));
+        assertThat(page.getContent().get(0).keySet()).containsExactly("title", "id");
+        String selectList = selectList("tasks");
+        assertThat(selectList).contains("title").contains("id");
+        assertThat(selectList).doesNotContain("description", "comment_count", "target_date", "assigned_user_id");
+    }
+
+    @Test
+    void tasks_unknownField_isBadRequestWithoutQuery() {
+        assertThatThrownBy(() -> taskService.getAllTasks(PageRequest.of(0, 10), fields("title", "password")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(AppConstants.UNKNOWN_FIELDS + "password");
+        assertThat(RecordingStatementInspector.STATEMENTS).isEmpty();
+    }
+
+    @Test
+    void tasks_noField_isBadRequest() {
+        assertThatThrownBy(() -> taskService.getAllTasks(PageRequest.of(0, 10), fields(" ")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(AppConstants.EMPTY_FIELDS);
+    }
+
+    /**
+     * The comment author's ID is read from the comment's foreign key, so users are not joined.
+     */
+    @Test
+    void comments_shouldSelectOnlyRequestedColumnsWithoutJoin() {
+        Page<Map<String, Object>> page = commentService.getCommentsByTaskId(taskId, 0, 10,
+                fields("authorId", "comment"));
+
+        assertThat(page.getContent()).containsExactly(Map.of("authorId", userId, "comment", "Looks good"));
+        String selectList = selectList("comments");
+        assertThat(selectList).contains("content").contains("user_id");
+        assertThat(selectList).doesNotContain("created_at", "task_id");
+        assertThat(statementOn("comments")).doesNotContain(" join ");
+    }
+
+    @Test
+    void comments_unknownField_isBadRequest() {
+        assertThatThrownBy(() -> commentService.getCommentsByTaskId(taskId, 0, 10, fields("comment", "author")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(AppConstants.UNKNOWN_FIELDS + "author");
+    }
+
+    private static Set<String> fields(String... names) {
+        return new LinkedHashSet<>(List.of(names));
+    }
+
+    /**
+     * Returns the select list of the recorded query on a table, i.e. what the database reads.
+     */
+    private static String selectList(String table) {
+        String sql = statementOn(table);
+        return sql.substring(sql.indexOf("select") + "select".length(), sql.indexOf(" from "));
+    }
+
+    private static String statementOn(String table) {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No query on " + table + ": " + RecordingStatementInspector.STATEMENTS));
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.klm.taskmanagement.global.softdelete;
+
+import com.klm.taskmanagement.task.entity.Comment;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.task.repository.TaskRepository;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import com.klm.taskmanagement.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the purge removes soft-deleted rows past retention, in dependency order,
+ * and keeps rows that are still referenced.
+ */
+@DataJpaTest
+class SoftDeletePurgeJobTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private SoftDeletePurgeJob purgeJob;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        purgeJob = new SoftDeletePurgeJob(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new DeletionPolicy("soft"), 1, 100, Duration.ZERO, Duration.ofDays(7));
+    }
+
+    @Test
+    void purge_removesExpiredSoftDeletedRowsInBatches() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(30);
+        User owner = persistUser("owner");
+        User leaver = persistUser("leaver");
+        Task task = persistTask(owner);
+        persistComment(task, owner);
+        persistComment(task, leaver);
+        entityManager.flush();
+
+        taskRepository.softDeleteById(task.getId(), longAgo);
+        commentRepository.softDeleteAllByTaskId(task.getId(), longAgo);
+        userRepository.softDeleteById(leaver.getId(), longAgo);
+
+        purgeJob.purge();
+
+        assertThat(count("comments")).isZero();
+        assertThat(count("tasks")).isZero();
+        assertThat(count("users")).isEqualTo(1);
+    }
+
+    @Test
+    void purge_keepsRecentAndStillReferencedRows() {
+        User assignee = persistUser("assignee");
+        Task activeTask = persistTask(assignee);
+        Task recentlyDeleted = persistTask(assignee);
+        entityManager.flush();
+
+        userRepository.softDeleteById(assignee.getId(), LocalDateTime.now().minusDays(30));
+        taskRepository.softDeleteById(recentlyDeleted.getId(), LocalDateTime.now());
+
+        purgeJob.purge();
+
+        assertThat(count("tasks")).isEqualTo(2);
+        assertThat(count("users")).isEqualTo(1);
+        assertThat(activeTask.getId()).isNotNull();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Map.of(), Long.class);
+    }
+
+    private User persistUser(String username) {
+        return entityManager.persist(User.builder()
+                .username(username).password("secret").roles(Set.of(Role.ROLE_USER)).build());
+    }
+
+    private Task persistTask(User assignee) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setTargetDate(LocalDate.now().plusDays(1));
+        task.setAssignedUser(assignee);
+        return entityManager.persist(task);
+    }
+
+    private void persistComment(Task task, User author) {
+        Comment comment = new Comment();
+        comment.setContent("Comment");
+        comment.setTask(task);
+        comment.setAuthor(author);
+        entityManager.persist(comment);
+    }
+}
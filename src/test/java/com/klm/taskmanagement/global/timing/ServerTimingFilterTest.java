@@ -0,0 +1,59 @@
+package com.klm.taskmanagement.global.timing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ServerTimingFilter} and {@link ServerTimingAdvice}:
+ * phase accumulation, the opt-in header and thread confinement.
+ */
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(1));
+
+    @Test
+    void doFilter_whenHeaderEnabled_shouldSendRecordedPhases() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1/info");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServerTimingAdvice advice = new ServerTimingAdvice(true);
+
+        filter.doFilter(request, response, (req, res) -> {
+            RequestTiming.record(RequestTiming.JWT, TimeUnit.MICROSECONDS.toNanos(400));
+            RequestTiming.record(RequestTiming.DB, TimeUnit.MILLISECONDS.toNanos(1));
+            RequestTiming.record(RequestTiming.DB, TimeUnit.MILLISECONDS.toNanos(2));
+            advice.beforeBodyWrite("body", null, null, null,
+                    new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+        });
+
+        assertThat(response.getHeader(ServerTimingAdvice.HEADER))
+                .startsWith("jwt;dur=0.40, db;dur=3.00;desc=\"2 calls\", app;dur=");
+        assertThat(RequestTiming.current()).isNull();
+    }
+
+    @Test
+    void doFilter_whenHeaderDisabled_shouldNotSendHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1/info");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServerTimingAdvice advice = new ServerTimingAdvice(false);
+
+        filter.doFilter(request, response, (req, res) -> advice.beforeBodyWrite("body", null, null, null,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(response)));
+
+        assertThat(response.getHeader(ServerTimingAdvice.HEADER)).isNull();
+    }
+
+    @Test
+    void record_outsideRequest_shouldBeIgnored() {
+        RequestTiming.record(RequestTiming.DB, 1_000);
+
+        assertThat(RequestTiming.current()).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.klm.taskmanagement.security;
+
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CachingUserInfoService}.
+ */
+class CachingUserInfoServiceTest {
+
+    private final UserInfoService delegate = mock(UserInfoService.class);
+    private final CachingUserInfoService service = new CachingUserInfoService(delegate, 100, Duration.ofMinutes(5));
+
+    @Test
+    void loadUserByUsername_shouldServeRepeatedLookupsFromCache() {
+        when(delegate.loadUserByUsername("alice")).thenReturn(details("alice", Role.ROLE_USER));
+
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice");
+
+        verify(delegate, times(1)).loadUserByUsername("alice");
+        assertThat(service.size()).isEqualTo(1);
+    }
+
+    /**
+     * After a role change the user is evicted, so the next lookup returns the new roles
+     * instead of the cached ones.
+     */
+    @Test
+    void evict_shouldMakeNextLookupReadFreshUser() {
+        when(delegate.loadUserByUsername("alice"))
+                .thenReturn(details("alice", Role.ROLE_USER))
+                .thenReturn(details("alice", Role.ROLE_ADMIN));
+        assertThat(authorities(service.loadUserByUsername("alice"))).containsExactly(Role.ROLE_USER.name());
+
+        service.evict("alice");
+
+        assertThat(authorities(service.loadUserByUsername("alice"))).containsExactly(Role.ROLE_ADMIN.name());
+        verify(delegate, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void evict_shouldLeaveOtherUsersCached() {
+        when(delegate.loadUserByUsername("alice")).thenReturn(details("alice", Role.ROLE_USER));
+        when(delegate.loadUserByUsername("bob")).thenReturn(details("bob", Role.ROLE_USER));
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("bob");
+
+        service.evict("alice");
+        service.evict(null);
+        service.loadUserByUsername("bob");
+
+        verify(delegate, times(1)).loadUserByUsername("bob");
+    }
+
+    /**
+     * Unknown usernames are not cached, so a user registered afterwards can log in immediately.
+     */
+    @Test
+    void loadUserByUsername_shouldNotCacheUnknownUser() {
+        when(delegate.loadUserByUsername("carol"))
+                .thenThrow(new UsernameNotFoundException("User not found"))
+                .thenReturn(details("carol", Role.ROLE_USER));
+
+        assertThatThrownBy(() -> service.loadUserByUsername("carol"))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(service.loadUserByUsername("carol").getUsername()).isEqualTo("carol");
+    }
+
+    private static UserDetails details(String username, Role role) {
+        return new UserInfoDetails(User.builder()
+                .username(username).password("secret").roles(Set.of(role)).build());
+    }
+
+    private static Set<String> authorities(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,111 @@
+package com.klm.taskmanagement.security;
+
+import com.klm.taskmanagement.security.revocation.RevokedTokenRepository;
+import com.klm.taskmanagement.security.revocation.TokenRevocationService;
+import com.klm.taskmanagement.security.revocation.UserTokenInvalidation;
+import com.klm.taskmanagement.security.revocation.UserTokenInvalidationRepository;
+import com.klm.taskmanagement.user.entity.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link JwtAuthenticateFilter} in {@code security.auth.mode=claims}.
+ */
+class JwtAuthenticateFilterTest {
+
+    private final JwtTokenGenerator jwtTokenGenerator = new JwtTokenGenerator("test-secret", 3_600_000L, 100);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final UserTokenInvalidationRepository invalidationRepository = mock(UserTokenInvalidationRepository.class);
+    private final TokenInvalidationRegistry tokenInvalidationRegistry =
+            new TokenInvalidationRegistry(invalidationRepository, 3_600_000L);
+    private final JwtAuthenticateFilter filter = new JwtAuthenticateFilter(jwtTokenGenerator, userDetailsService,
+            tokenInvalidationRegistry,
+            new TokenRevocationService(mock(RevokedTokenRepository.class), 1_000, 0.01),
+            "claims");
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * The principal and its roles come from the verified claims, without loading the user.
+     */
+    @Test
+    void claimsMode_shouldAuthenticateFromClaimsWithoutUserLookup() throws Exception {
+        Authentication authentication = authenticate(token("alice", Role.ROLE_ADMIN));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("alice");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(Role.ROLE_ADMIN.name());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    /**
+     * A token issued before the user's roles changed on this node is rejected.
+     */
+    @Test
+    void claimsMode_shouldRejectTokenIssuedBeforeInvalidation() throws Exception {
+        String token = token("alice", Role.ROLE_ADMIN);
+
+        tokenInvalidationRegistry.invalidateUser("alice");
+
+        assertThat(authenticate(token)).isNull();
+        verify(invalidationRepository).save(any(UserTokenInvalidation.class));
+    }
+
+    /**
+     * A stamp set by another node reaches this node's check through the periodic sync.
+     */
+    @Test
+    void claimsMode_shouldRejectTokenInvalidatedOnAnotherNodeAfterSync() throws Exception {
+        String token = token("alice", Role.ROLE_ADMIN);
+        assertThat(authenticate(token)).isNotNull();
+        SecurityContextHolder.clearContext();
+        when(invalidationRepository.findStampedSince(any())).thenReturn(List.of(UserTokenInvalidation.builder()
+                .username("alice")
+                .notBefore(Instant.ofEpochSecond(Instant.now().getEpochSecond()))
+                .build()));
+
+        tokenInvalidationRegistry.sync();
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    /**
+     * Another user's stamp does not affect the token.
+     */
+    @Test
+    void claimsMode_shouldAcceptTokenOfUnaffectedUser() throws Exception {
+        tokenInvalidationRegistry.invalidateUser("bob");
+
+        assertThat(authenticate(token("alice", Role.ROLE_USER))).isNotNull();
+    }
+
+    private String token(String username, Role role) {
+        return jwtTokenGenerator.generateToken(username, Set.of(role.name()));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
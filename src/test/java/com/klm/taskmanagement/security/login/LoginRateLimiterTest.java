@@ -0,0 +1,122 @@
+package com.klm.taskmanagement.security.login;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link LoginRateLimiter}.
+ */
+class LoginRateLimiterTest {
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(Duration.ofMinutes(1), 3, 100);
+
+    /**
+     * Successful logins must not use up the per-username limit, so nobody can lock a user out
+     * by logging in as them.
+     */
+    @Test
+    void tryAcquire_shouldNotCountSuccessfulLogins() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isTrue();
+            limiter.recordSuccess("alice");
+        }
+    }
+
+    /**
+     * Wrong passwords keep their reserved slot, so they are limited per username,
+     * whichever address they come from.
+     */
+    @Test
+    void tryAcquire_shouldRefuseUsernameAfterTooManyFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice", "10.0.0." + i)).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire("alice", "10.0.0.9")).isFalse();
+        assertThat(limiter.tryAcquire("bob", "10.0.0.9")).isTrue();
+    }
+
+    /**
+     * A successful login clears the username's failures.
+     */
+    @Test
+    void recordSuccess_shouldResetFailures() {
+        limiter.tryAcquire("alice", "10.0.0.1");
+        limiter.tryAcquire("alice", "10.0.0.1");
+        limiter.tryAcquire("alice", "10.0.0.1");
+        limiter.recordSuccess("alice");
+
+        assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isTrue();
+    }
+
+    /**
+     * Attempts whose password was never checked give their slot back, and refused attempts keep none.
+     */
+    @Test
+    void release_shouldReturnTheReservedSlot() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isTrue();
+            limiter.release("alice");
+        }
+        limiter.tryAcquire("alice", "10.0.0.1");
+        limiter.tryAcquire("alice", "10.0.0.1");
+        limiter.tryAcquire("alice", "10.0.0.1");
+        assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isFalse();
+        assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isFalse();
+
+        limiter.release("alice");
+
+        assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isTrue();
+    }
+
+    /**
+     * Every attempt counts against the client IP.
+     */
+    @Test
+    void tryAcquire_shouldLimitAllAttemptsPerIp() {
+        LoginRateLimiter ipLimiter = new LoginRateLimiter(Duration.ofMinutes(1), 3, 2);
+
+        assertThat(ipLimiter.tryAcquire("alice", "10.0.0.1")).isTrue();
+        assertThat(ipLimiter.tryAcquire("bob", "10.0.0.1")).isTrue();
+        assertThat(ipLimiter.tryAcquire("carol", "10.0.0.1")).isFalse();
+        assertThat(ipLimiter.tryAcquire("carol", "10.0.0.2")).isTrue();
+    }
+
+    /**
+     * Concurrent attempts whose outcome is not known yet cannot together exceed the username limit.
+     */
+    @Test
+    void tryAcquire_concurrentAttempts_shouldAdmitOnlyTheLimit() throws Exception {
+        int attempts = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                String clientIp = "10.0.1." + i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return limiter.tryAcquire("alice", clientIp);
+                }));
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (Future<Boolean> result : results) {
+                admitted += result.get() ? 1 : 0;
+            }
+            assertThat(admitted).isEqualTo(3);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.klm.taskmanagement.security.refresh;
+
+import com.klm.taskmanagement.global.AppConstants;
+import com.klm.taskmanagement.global.exception.UnauthorizedException;
+import com.klm.taskmanagement.security.TokenInvalidationRegistry;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import com.klm.taskmanagement.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link RefreshTokenService#rotate} against the database.
+ * <p>
+ * Runs without a test transaction so that each rotation commits, as it does in production,
+ * and concurrent exchanges really race on the conditional update.
+ */
+@DataJpaTest
+@Import(RefreshTokenService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private TokenInvalidationRegistry tokenInvalidationRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("alice").password("secret").roles(Set.of(Role.ROLE_USER)).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void rotate_shouldIssueReplacementInSameFamily() {
+        String token = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        assertThat(rotation.user().getUsername()).isEqualTo("alice");
+        assertThat(rotation.refreshToken()).isNotEqualTo(token);
+        List<RefreshToken> family = refreshTokenRepository.findAll();
+        assertThat(family).hasSize(2);
+        assertThat(family).extracting(RefreshToken::getFamilyId).containsOnly(family.get(0).getFamilyId());
+        verify(tokenInvalidationRegistry, never()).invalidateUser("alice");
+    }
+
+    /**
+     * Presenting an already exchanged token means it leaked: the whole family is revoked,
+     * including the replacement, and the user's access tokens are cut off.
+     */
+    @Test
+    void rotate_replayedToken_shouldRevokeFamilyAndInvalidateUser() {
+        String token = refreshTokenService.issue(user);
+        String replacement = refreshTokenService.rotate(token).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage(AppConstants.REFRESH_TOKEN_REUSED);
+
+        assertThat(refreshTokenRepository.findAll()).allSatisfy(stored -> assertThat(stored.getRevokedAt()).isNotNull());
+        verify(tokenInvalidationRegistry).invalidateUser("alice");
+        assertThatThrownBy(() -> refreshTokenService.rotate(replacement))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    /**
+     * Of two exchanges of the same token racing each other, exactly one gets a replacement.
+     */
+    @Test
+    void rotate_concurrentExchanges_shouldLetOnlyOneWin() throws Exception {
+        String token = refreshTokenService.issue(user);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<RefreshTokenService.Rotation>> exchanges = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                exchanges.add(pool.submit(() -> {
+                    start.await();
+                    return refreshTokenService.rotate(token);
+                }));
+            }
+            start.countDown();
+
+            int won = 0;
+            int rejected = 0;
+            for (Future<RefreshTokenService.Rotation> exchange : exchanges) {
+                try {
+                    exchange.get();
+                    won++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(UnauthorizedException.class);
+                    rejected++;
+                }
+            }
+            assertThat(won).isEqualTo(1);
+            assertThat(rejected).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rotate_expiredToken_shouldBeRejected() {
+        String token = refreshTokenService.issue(user);
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        refreshTokenRepository.save(stored);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage(AppConstants.INVALID_REFRESH_TOKEN);
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void rotate_unknownToken_shouldBeRejected() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-token"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage(AppConstants.INVALID_REFRESH_TOKEN);
+    }
+}
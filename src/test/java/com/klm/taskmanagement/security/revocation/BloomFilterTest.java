@@ -0,0 +1,50 @@
+package com.klm.taskmanagement.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    /**
+     * Every added element must be reported as possibly present.
+     */
+    @Test
+    void mightContain_shouldNeverMissAddedElements() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        String[] added = new String[1_000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = UUID.randomUUID().toString();
+            filter.put(added[i]);
+        }
+
+        for (String jti : added) {
+            assertThat(filter.mightContain(jti)).isTrue();
+        }
+    }
+
+    /**
+     * Absent elements should be rejected at roughly the configured false-positive rate.
+     */
+    @Test
+    void mightContain_shouldKeepFalsePositivesNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
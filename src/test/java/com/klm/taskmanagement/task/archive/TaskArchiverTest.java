@@ -0,0 +1,145 @@
+package com.klm.taskmanagement.task.archive;
+
+import com.klm.taskmanagement.task.changefeed.TaskChange;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRepository;
+import com.klm.taskmanagement.task.changefeed.TaskChangeType;
+import com.klm.taskmanagement.task.entity.Comment;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.task.repository.TaskRepository;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Verifies that old DONE tasks and their comments move to the archive tables in batches,
+ * and that everything else stays in the live tables.
+ */
+@DataJpaTest
+@Import(TaskChangeRecorder.class)
+class TaskArchiverTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+    @Autowired
+    private TaskChangeRecorder taskChangeRecorder;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TaskArchiver archiver;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new TaskArchiver(new NamedParameterJdbcTemplate(dataSource),
+                new TransactionTemplate(transactionManager), taskChangeRecorder, Duration.ofDays(30), 1, 100, Duration.ZERO);
+        user = entityManager.persist(User.builder()
+                .username("user").password("secret").roles(Set.of(Role.ROLE_USER)).build());
+    }
+
+    @Test
+    void archive_movesOldDoneTasksWithComments() {
+        Task oldDone = persistTask(TaskStatus.DONE, LocalDateTime.now().minusDays(60));
+        Task oldDone2 = persistTask(TaskStatus.DONE, LocalDateTime.now().minusDays(45));
+        Task recentDone = persistTask(TaskStatus.DONE, LocalDateTime.now().minusDays(1));
+        Task inProgress = persistTask(TaskStatus.IN_PROGRESS, null);
+        persistComment(oldDone);
+        persistComment(oldDone);
+        persistComment(inProgress);
+        entityManager.flush();
+        entityManager.clear();
+
+        int archived = archiver.archive();
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(taskRepository.findAll()).extracting(Task::getId)
+                .containsExactlyInAnyOrder(recentDone.getId(), inProgress.getId());
+        assertThat(archivedTaskRepository.findAll()).extracting(ArchivedTask::getId)
+                .containsExactlyInAnyOrder(oldDone.getId(), oldDone2.getId());
+        assertThat(archivedCommentRepository.count()).isEqualTo(2);
+        assertThat(commentRepository.count()).isEqualTo(1);
+        ArchivedTask archivedTask = archivedTaskRepository.findById(oldDone.getId()).orElseThrow();
+        assertThat(archivedTask.getAssignedUserId()).isEqualTo(user.getId());
+        assertThat(archivedTask.getCreatedAt()).isCloseTo(oldDone.getCreatedAt(), within(1, ChronoUnit.MILLIS));
+        assertThat(archivedTask.getUpdatedAt()).isCloseTo(oldDone.getUpdatedAt(), within(1, ChronoUnit.MILLIS));
+        assertThat(taskChangeRepository.findAll())
+                .filteredOn(change -> change.getType() == TaskChangeType.ARCHIVED)
+                .extracting(TaskChange::getTaskId)
+                .containsExactlyInAnyOrder(oldDone.getId(), oldDone2.getId());
+    }
+
+    @Test
+    void archive_skipsTaskReopenedAfterSelection() {
+        Task reopened = persistTask(TaskStatus.DONE, LocalDateTime.now().minusDays(60));
+        entityManager.flush();
+        entityManager.clear();
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> queryForList(String sql, SqlParameterSource params, Class<T> elementType) {
+                List<T> ids = super.queryForList(sql, params, elementType);
+                // The task is reopened between the candidate select and the lock
+                getJdbcTemplate().update("UPDATE tasks SET status = 'IN_PROGRESS' WHERE id = ?", reopened.getId());
+                return ids;
+            }
+        };
+        TaskArchiver racingArchiver = new TaskArchiver(jdbcTemplate, new TransactionTemplate(transactionManager),
+                taskChangeRecorder, Duration.ofDays(30), 10, 1, Duration.ZERO);
+
+        assertThat(racingArchiver.archive()).isZero();
+        assertThat(taskRepository.findById(reopened.getId())).isPresent();
+        assertThat(archivedTaskRepository.count()).isZero();
+        assertThat(taskChangeRepository.count()).isZero();
+    }
+
+    private Task persistTask(TaskStatus status, LocalDateTime completedAt) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setStatus(status);
+        task.setTargetDate(LocalDate.now().plusDays(1));
+        task.setAssignedUser(user);
+        task.setCompletedAt(completedAt);
+        return entityManager.persist(task);
+    }
+
+    private void persistComment(Task task) {
+        Comment comment = new Comment();
+        comment.setContent("Comment");
+        comment.setTask(task);
+        comment.setAuthor(user);
+        entityManager.persist(comment);
+    }
+}
@@ -0,0 +1,189 @@
+package com.klm.taskmanagement.task.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TaskAuditWriter}: batching, retries and back-pressure of the audit queue.
+ */
+class TaskAuditWriterTest {
+
+    private static final Duration BACKOFF = Duration.ofMillis(400);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private TaskAuditWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    @Test
+    void enqueue_shouldWriteEntriesInBoundedBatches() throws InterruptedException {
+        CountDownLatch written = recordBatches(5);
+        writer = new TaskAuditWriter(jdbcTemplate, 100, 2, BACKOFF);
+
+        writer.enqueue(entries(5));
+
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batchSizes).allMatch(size -> size <= 2);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(5);
+    }
+
+    @Test
+    void enqueue_whenWriteFailsOnce_shouldRetryTheBatch() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenAnswer(invocation -> {
+                    written.countDown();
+                    return new int[0][];
+                });
+        writer = new TaskAuditWriter(jdbcTemplate, 100, 10, BACKOFF);
+
+        writer.enqueue(entries(3));
+
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(jdbcTemplate, times(2))
+                .batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    /**
+     * A batch is not given up after a fixed number of attempts; it is retried until the database recovers.
+     */
+    @Test
+    void enqueue_whenWriteKeepsFailing_shouldKeepRetryingTheBatch() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenAnswer(invocation -> {
+                    batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+                    written.countDown();
+                    return new int[0][];
+                });
+        writer = new TaskAuditWriter(jdbcTemplate, 100, 10, BACKOFF);
+
+        writer.enqueue(entries(3));
+
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(batchSizes).containsExactly(3);
+        assertThat(writer.dropped()).isZero();
+    }
+
+    /**
+     * Entries are only dropped, and counted, when the application stops while the database is down.
+     */
+    @Test
+    void shutdown_whenWriteKeepsFailing_shouldCountDroppedEntries() throws InterruptedException {
+        CountDownLatch attempted = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    attempted.countDown();
+                    throw new IllegalStateException("connection lost");
+                });
+        writer = new TaskAuditWriter(jdbcTemplate, 100, 10, Duration.ofMinutes(1));
+
+        writer.enqueue(entries(3));
+        assertThat(attempted.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.shutdown();
+
+        assertThat(writer.dropped()).isEqualTo(3);
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    void enqueue_whenInterrupted_shouldStillQueueAllEntries() throws InterruptedException {
+        CountDownLatch written = recordBatches(3);
+        writer = new TaskAuditWriter(jdbcTemplate, 1, 1, BACKOFF);
+
+        CompletableFuture<Boolean> producer = CompletableFuture.supplyAsync(() -> {
+            Thread.currentThread().interrupt();
+            writer.enqueue(entries(3));
+            return Thread.interrupted();
+        });
+
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(producer.join()).isTrue();
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void enqueue_whenQueueIsFull_shouldBlockInsteadOfDropping() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+                    return new int[0][];
+                });
+        writer = new TaskAuditWriter(jdbcTemplate, 1, 1, BACKOFF);
+
+        // One entry is held by the stalled writer, one fills the queue, the third must wait
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> writer.enqueue(entries(3)));
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertThat(producer).isNotDone();
+
+        release.countDown();
+        producer.get(5, TimeUnit.SECONDS);
+        writer.shutdown();
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void diff_shouldReportOnlyChangedFields() {
+        TaskSnapshot before = new TaskSnapshot(1L, snapshotValues("Title", "TODO"));
+        TaskSnapshot after = new TaskSnapshot(1L, snapshotValues("Title", "DONE"));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<TaskAuditEntry> changes = before.diff(after, "alice", now);
+
+        assertThat(changes).containsExactly(new TaskAuditEntry(1L, "status", "TODO", "DONE", "alice", now));
+    }
+
+    private CountDownLatch recordBatches(int expectedRows) {
+        CountDownLatch written = new CountDownLatch(expectedRows);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    int size = invocation.<Collection<?>>getArgument(1).size();
+                    batchSizes.add(size);
+                    IntStream.range(0, size).forEach(i -> written.countDown());
+                    return new int[0][];
+                });
+        return written;
+    }
+
+    private static Map<String, String> snapshotValues(String title, String status) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("title", title);
+        values.put("status", status);
+        return values;
+    }
+
+    private static List<TaskAuditEntry> entries(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TaskAuditEntry(1L, "title", "old" + i, "new" + i, "alice", LocalDateTime.now()))
+                .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.klm.taskmanagement.task.changefeed;
+
+import com.klm.taskmanagement.task.dto.TaskChangeDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TaskChangeFeed}: subscription, Last-Event-ID replay and in-order live delivery.
+ * <p>
+ * A reconnecting stream is replayed up to the last dispatched sequence, so the replay query
+ * shows how far the dispatcher has got.
+ */
+class TaskChangeFeedTest {
+
+    private static final Duration GAP_WAIT = Duration.ofMillis(300);
+
+    private final TaskChangeRepository taskChangeRepository = mock(TaskChangeRepository.class);
+    private final TaskChangeFeed feed = new TaskChangeFeed(taskChangeRepository,
+            new TaskChangeLog(taskChangeRepository, GAP_WAIT), Duration.ofMinutes(1), 100, 10);
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void subscribe_withoutLastEventId_shouldNotReplay() {
+        feed.subscribe(null);
+
+        verify(taskChangeRepository, after(200).never())
+                .findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(any(), any(), any());
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_withLastEventId_shouldReplayMissedChangesThenGoLive() {
+        feed.onTaskChange(dto(1L));
+        feed.onTaskChange(dto(2L));
+        when(taskChangeRepository.findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                0L, 2L, PageRequest.of(0, 101)))
+                .thenReturn(List.of(change(1L), change(2L)));
+
+        feed.subscribe(0L);
+
+        verify(taskChangeRepository, timeout(1000)).findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                0L, 2L, PageRequest.of(0, 101));
+        verify(taskChangeRepository, after(200).times(1))
+                .findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(any(), any(), any());
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskChange_shouldNotQueryTheChangeLog() {
+        feed.subscribe(null);
+
+        feed.onTaskChange(dto(2L));
+        feed.onTaskChange(dto(1L));
+        feed.onTaskChange(dto(3L));
+
+        verify(taskChangeRepository, after(200).never())
+                .findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(any(), any(), any());
+        verify(taskChangeRepository, never()).findBySequenceGreaterThanOrderBySequenceAsc(any(), any());
+    }
+
+    @Test
+    void onTaskChange_outOfOrder_shouldHoldBackUntilTheGapIsFilled() {
+        feed.onTaskChange(dto(1L));
+        feed.onTaskChange(dto(3L));
+        feed.subscribe(0L);
+
+        // Sequence 3 waits for 2, which is still committing
+        verify(taskChangeRepository, timeout(1000)).findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                0L, 1L, PageRequest.of(0, 101));
+
+        feed.onTaskChange(dto(2L));
+        feed.subscribe(0L);
+
+        verify(taskChangeRepository, timeout(200)).findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                0L, 3L, PageRequest.of(0, 101));
+    }
+
+    @Test
+    void onTaskChange_gapNeverFilled_shouldBeSkippedAfterTheVisibilityDelay() throws InterruptedException {
+        feed.onTaskChange(dto(1L));
+        feed.onTaskChange(dto(3L));
+
+        // Sequence 2 was rolled back
+        Thread.sleep(GAP_WAIT.multipliedBy(2).toMillis());
+        feed.subscribe(0L);
+
+        verify(taskChangeRepository, timeout(1000)).findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                0L, 3L, PageRequest.of(0, 101));
+    }
+
+    @Test
+    void subscribe_tooFarBehind_shouldRequestResyncAndClose() {
+        for (long sequence = 1; sequence <= 101; sequence++) {
+            feed.onTaskChange(dto(sequence));
+        }
+        List<TaskChange> missed = LongStream.rangeClosed(1, 101).mapToObj(TaskChangeFeedTest::change).toList();
+        when(taskChangeRepository.findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                0L, 101L, PageRequest.of(0, 101)))
+                .thenReturn(missed);
+
+        feed.subscribe(0L);
+
+        verify(taskChangeRepository, timeout(1000)).findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(
+                0L, 101L, PageRequest.of(0, 101));
+        verify(taskChangeRepository, after(200).times(1))
+                .findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(any(), any(), any());
+        assertThat(feed.subscriberCount()).isZero();
+    }
+
+    private static TaskChangeDto dto(Long sequence) {
+        return new TaskChangeDto(sequence, 1L, TaskChangeType.UPDATED, sequence.intValue(), LocalDateTime.now());
+    }
+
+    private static TaskChange change(Long sequence) {
+        return new TaskChange(sequence, 1L, TaskChangeType.UPDATED, sequence.intValue(), LocalDateTime.now());
+    }
+}
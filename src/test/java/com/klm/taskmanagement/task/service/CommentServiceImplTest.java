@@ -1,8 +1,15 @@
 package com.klm.taskmanagement.task.service;
 
+import com.klm.taskmanagement.config.CommentSecurityConfig;
+import com.klm.taskmanagement.global.exception.BadRequestException;
 import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.global.pagination.KeysetCursor;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.changefeed.TaskChangeType;
 import com.klm.taskmanagement.task.dto.CommentDto;
 import com.klm.taskmanagement.task.dto.CommentRequestDto;
+import com.klm.taskmanagement.task.dto.CommentTimelineDto;
 import com.klm.taskmanagement.task.entity.Comment;
 import com.klm.taskmanagement.task.entity.Task;
 import com.klm.taskmanagement.task.repository.CommentRepository;
@@ -10,14 +17,19 @@ import com.klm.taskmanagement.task.repository.TaskRepository;
 import com.klm.taskmanagement.user.entity.User;
 import com.klm.taskmanagement.user.repository.UserRepository;
 import com.klm.taskmanagement.websocket.NotificationMessage;
+import com.klm.taskmanagement.websocket.TaskTopicEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -29,6 +41,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class CommentServiceImplTest {
 
+    @Mock
+    private DeletionPolicy deletionPolicy;
+
     @Mock
     private CommentRepository commentRepository;
 
@@ -38,10 +53,17 @@ class CommentServiceImplTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentServiceImpl commentService;
     @Mock
     private UserRepository userRepository; // ✅ Add this
+    @Mock
+    private CommentSecurityConfig commentSecurity;
+    @Mock
+    private TaskChangeRecorder taskChangeRecorder;
 
     /**
      * Verifies that a new comment is saved and returned correctly.
@@ -64,19 +86,52 @@ class CommentServiceImplTest {
         savedComment.setAuthor(author);
         savedComment.setCreatedAt(LocalDateTime.now());
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(userRepository.findById(userId
-        )).thenReturn(Optional.of(author)); // ✅ fix
-        when(commentRepository.save(any(Comment.class))).thenReturn(savedComment);
+        when(taskRepository.incrementCommentCount(eq(taskId), any(LocalDateTime.class))).thenReturn(1);
+        when(taskRepository.getReferenceById(taskId)).thenReturn(task);
+        when(userRepository.getReferenceById(userId)).thenReturn(author);
+        when(commentRepository.saveAndFlush(any(Comment.class))).thenReturn(savedComment);
 
         CommentDto result = commentService.createComment(request);
 
         assertThat(result).isNotNull();
         assertThat(result.comment()).isEqualTo("Test comment");
-        verify(commentRepository).save(any(Comment.class));
+        verify(commentRepository).saveAndFlush(any(Comment.class));
+        verify(taskRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+        verify(taskChangeRecorder).record(taskId, TaskChangeType.COMMENTED, 0);
+        verify(eventPublisher).publishEvent(new TaskTopicEvent(TaskTopicEvent.Type.COMMENT_CREATED, taskId, result));
 
     }
 
+    /**
+     * Verifies that a comment on a missing task is rejected before anything is inserted.
+     */
+    @Test
+    void createComment_taskNotFound_throws() {
+        CommentRequestDto request = new CommentRequestDto("Test comment", 99L, 1L);
+        when(taskRepository.incrementCommentCount(eq(99L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> commentService.createComment(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Task not found");
+        verify(commentRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Verifies that a foreign-key violation for a missing author is reported as ResourceNotFoundException.
+     */
+    @Test
+    void createComment_authorNotFound_throws() {
+        CommentRequestDto request = new CommentRequestDto("Test comment", 1L, 42L);
+        when(taskRepository.incrementCommentCount(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(commentRepository.saveAndFlush(any(Comment.class)))
+                .thenThrow(new DataIntegrityViolationException("FK_COMMENT_AUTHOR"));
+
+        assertThatThrownBy(() -> commentService.createComment(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Author not found");
+    }
+
     /**
      * Verifies retrieval of an existing comment.
      */
@@ -121,15 +176,43 @@ class CommentServiceImplTest {
      */
     @Test
     void deleteComment_callsRepository() {
+        Task task = new Task();
+        task.setId(1L);
         Comment comment = new Comment();
         comment.setId(5L);
+        comment.setTask(task);
 
         when(commentRepository.findById(5L)).thenReturn(Optional.of(comment));
 
         commentService.deleteComment(5L);
 
         verify(commentRepository).delete(comment);
+        verify(taskRepository).decrementCommentCount(eq(1L), any(LocalDateTime.class));
+        verify(taskChangeRecorder).record(1L, TaskChangeType.COMMENTED, 0);
+        verify(commentSecurity).evict(5L);
+        verify(eventPublisher).publishEvent(new TaskTopicEvent(TaskTopicEvent.Type.COMMENT_DELETED, 1L, 5L));
+
+    }
+
+    /**
+     * Verifies that in soft-delete mode a comment is only marked deleted.
+     */
+    @Test
+    void deleteComment_softMode_marksDeleted() {
+        Task task = new Task();
+        task.setId(1L);
+        Comment comment = new Comment();
+        comment.setId(5L);
+        comment.setTask(task);
+
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(comment));
+        when(deletionPolicy.isSoft()).thenReturn(true);
 
+        commentService.deleteComment(5L);
+
+        verify(commentRepository).softDeleteById(eq(5L), any(LocalDateTime.class));
+        verify(commentRepository, never()).delete(any());
+        verify(taskRepository).decrementCommentCount(eq(1L), any(LocalDateTime.class));
     }
 
     /**
@@ -145,4 +228,49 @@ class CommentServiceImplTest {
 
         verify(commentRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that a full timeline page returns a cursor pointing at its last comment.
+     */
+    @Test
+    void getCommentTimeline_firstPage_returnsCursorWhenMoreExist() {
+        LocalDateTime t = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<CommentDto> rows = List.of(
+                new CommentDto(1L, "a", t, 7L, 1L),
+                new CommentDto(2L, "b", t, 7L, 1L),
+                new CommentDto(3L, "c", t.plusSeconds(1), 7L, 1L));
+        when(commentRepository.findTimeline(7L, PageRequest.ofSize(3))).thenReturn(rows);
+
+        CommentTimelineDto result = commentService.getCommentTimeline(7L, null, 2);
+
+        assertThat(result.comments()).extracting(CommentDto::id).containsExactly(1L, 2L);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(result.nextCursor())).isEqualTo(new KeysetCursor(t, 2L));
+    }
+
+    /**
+     * Verifies that a cursor seeks past the previous page and that the last page has no cursor.
+     */
+    @Test
+    void getCommentTimeline_withCursor_seeksAfterPosition() {
+        LocalDateTime t = LocalDateTime.of(2030, 1, 1, 10, 0);
+        String cursor = new KeysetCursor(t, 2L).encode();
+        List<CommentDto> rows = List.of(new CommentDto(3L, "c", t.plusSeconds(1), 7L, 1L));
+        when(commentRepository.findTimelineAfter(7L, t, 2L, PageRequest.ofSize(3))).thenReturn(rows);
+
+        CommentTimelineDto result = commentService.getCommentTimeline(7L, cursor, 2);
+
+        assertThat(result.comments()).extracting(CommentDto::id).containsExactly(3L);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    /**
+     * Verifies that a tampered cursor is rejected as a bad request.
+     */
+    @Test
+    void getCommentTimeline_invalidCursor_throws() {
+        assertThatThrownBy(() -> commentService.getCommentTimeline(7L, "not-a-cursor", 2))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
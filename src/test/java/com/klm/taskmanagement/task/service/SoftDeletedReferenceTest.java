@@ -0,0 +1,111 @@
+package com.klm.taskmanagement.task.service;
+
+import com.klm.taskmanagement.config.CommentSecurityConfig;
+import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.projection.SparseFieldsetQuery;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.task.changefeed.TaskChangeLog;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.dto.CommentRequestDto;
+import com.klm.taskmanagement.task.dto.TaskRequestDto;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that in soft-delete mode a soft-deleted user can neither be assigned a task nor
+ * write a comment, although its row still satisfies the foreign key.
+ */
+@DataJpaTest(properties = "app.delete.mode=soft")
+@Import({TaskServiceImpl.class, CommentServiceImpl.class, SparseFieldsetQuery.class, CommentSecurityConfig.class,
+        DeletionPolicy.class, TaskChangeRecorder.class, TaskChangeLog.class, TaskMergePatch.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class SoftDeletedReferenceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private Long activeUserId;
+    private Long deletedUserId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User active = entityManager.persist(User.builder()
+                .username("active").password("secret").roles(Set.of(Role.ROLE_USER)).build());
+        User deleted = entityManager.persist(User.builder()
+                .username("deleted").password("secret").roles(Set.of(Role.ROLE_USER))
+                .deletedAt(LocalDateTime.now()).build());
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setTargetDate(LocalDate.now().plusDays(1));
+        task.setAssignedUser(active);
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+        activeUserId = active.getId();
+        deletedUserId = deleted.getId();
+        taskId = task.getId();
+    }
+
+    @Test
+    void createTask_assignedToSoftDeletedUser_isNotFound() {
+        assertThatThrownBy(() -> taskService.createTask(request(deletedUserId)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void updateTask_assignedToSoftDeletedUser_isNotFound() {
+        assertThatThrownBy(() -> taskService.updateTask(taskId, request(deletedUserId)))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        entityManager.clear();
+        assertThat(entityManager.find(Task.class, taskId).getAssignedUser().getId()).isEqualTo(activeUserId);
+    }
+
+    @Test
+    void createComment_bySoftDeletedAuthor_isNotFound() {
+        assertThatThrownBy(() -> commentService.createComment(new CommentRequestDto("Hi", taskId, deletedUserId)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Author not found");
+    }
+
+    @Test
+    void createTask_assignedToActiveUser_succeeds() {
+        assertThat(taskService.createTask(request(activeUserId)).id()).isNotNull();
+    }
+
+    private TaskRequestDto request(Long assignedUserId) {
+        return new TaskRequestDto(null, "Title", "Description", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                LocalDate.now().plusDays(7), assignedUserId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.klm.taskmanagement.task.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.klm.taskmanagement.global.exception.BadRequestException;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link TaskMergePatch}: conversion and per-field validation of merge patch documents.
+ */
+class TaskMergePatchTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final TaskMergePatch mergePatch = new TaskMergePatch(objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void read_shouldReturnOnlyProvidedFieldsWithTheirTypes() throws Exception {
+        Map<String, Object> values = mergePatch.read(json("""
+                {"status": "DONE", "description": null, "targetDate": "%s"}
+                """.formatted(LocalDate.now().plusDays(1))));
+
+        assertThat(values).containsOnlyKeys("status", "description", "targetDate");
+        assertThat(values.get("status")).isEqualTo(TaskStatus.DONE);
+        assertThat(values.get("description")).isNull();
+        assertThat(values.get("targetDate")).isEqualTo(LocalDate.now().plusDays(1));
+    }
+
+    @Test
+    void read_whenValueBreaksConstraint_shouldThrowConstraintViolation() throws Exception {
+        assertThatThrownBy(() -> mergePatch.read(json("{\"title\": \"\"}")))
+                .isInstanceOf(ConstraintViolationException.class);
+        assertThatThrownBy(() -> mergePatch.read(json("{\"status\": null}")))
+                .isInstanceOf(ConstraintViolationException.class);
+    }
+
+    @Test
+    void read_whenFieldUnknownOrUnreadable_shouldThrowBadRequest() throws Exception {
+        assertThatThrownBy(() -> mergePatch.read(json("{\"version\": 3}")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> mergePatch.read(json("{\"priority\": \"URGENT-ISH\"}")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> mergePatch.read(json("[]")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
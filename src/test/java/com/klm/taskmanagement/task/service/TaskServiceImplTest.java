@@ -1,11 +1,28 @@
 package com.klm.taskmanagement.task.service;
 
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.klm.taskmanagement.global.exception.BadRequestException;
+import com.klm.taskmanagement.global.exception.PreconditionFailedException;
 import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.global.projection.SparseFieldsetQuery;
+import com.klm.taskmanagement.task.archive.ArchivedTask;
+import com.klm.taskmanagement.task.archive.ArchivedTaskRepository;
+import com.klm.taskmanagement.task.audit.TaskAuditEntry;
+import com.klm.taskmanagement.task.audit.TaskAuditEvent;
+import com.klm.taskmanagement.task.audit.TaskAuditLogRepository;
+import com.klm.taskmanagement.task.changefeed.TaskChange;
+import com.klm.taskmanagement.task.changefeed.TaskChangeLog;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.changefeed.TaskChangeType;
 import com.klm.taskmanagement.task.dto.TaskDto;
 import com.klm.taskmanagement.task.dto.TaskRequestDto;
+import com.klm.taskmanagement.task.dto.TaskSyncDto;
 import com.klm.taskmanagement.task.entity.Task;
 import com.klm.taskmanagement.task.entity.TaskPriority;
 import com.klm.taskmanagement.task.entity.TaskStatus;
+import com.klm.taskmanagement.task.repository.CommentRepository;
 import com.klm.taskmanagement.task.repository.TaskRepository;
 import com.klm.taskmanagement.user.entity.Role;
 import com.klm.taskmanagement.user.entity.User;
@@ -16,15 +33,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -41,16 +63,42 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TaskServiceImplTest {
 
+    @Mock
+    private DeletionPolicy deletionPolicy;
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TaskAuditLogRepository taskAuditLogRepository;
+
+    @Mock
+    private TaskChangeRecorder taskChangeRecorder;
+
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    @Mock
+    private TaskMergePatch taskMergePatch;
+
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskServiceImpl taskService;
     @Mock
     private UserRepository userRepository; // ✅ Add this
+    @Mock
+    private SparseFieldsetQuery sparseFieldsetQuery;
 
     /**
      * Tests that creating a task saves the entity and returns a corresponding TaskDto.
@@ -79,15 +127,34 @@ class TaskServiceImplTest {
         savedTask.setPriority(requestDto.priority());
         savedTask.setTargetDate(requestDto.targetDate());
         savedTask.setAssignedUser(assignedUser);
-        when(userRepository.findById(assignedUserId)).thenReturn(Optional.of(assignedUser));
-        when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
+        when(userRepository.getReferenceById(assignedUserId)).thenReturn(assignedUser);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(savedTask);
 
         TaskDto result = taskService.createTask(requestDto);
 
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo(1L);
         assertThat(result.title()).isEqualTo("Title");
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).saveAndFlush(any(Task.class));
+        verify(userRepository, never()).findById(any());
+    }
+
+    /**
+     * Tests that a foreign-key violation for a missing assignee is reported as ResourceNotFoundException.
+     */
+    @Test
+    void createTask_whenAssigneeMissing_shouldThrowNotFound() {
+        TaskRequestDto requestDto = new TaskRequestDto(
+                null, "Title", "Description", TaskStatus.TODO, TaskPriority.LOW,
+                LocalDate.of(2025, 12, 31), 42L
+        );
+        when(taskRepository.saveAndFlush(any(Task.class)))
+                .thenThrow(new DataIntegrityViolationException("FK_ASSIGNED_USER"));
+
+        assertThatThrownBy(() -> taskService.createTask(requestDto))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("42");
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
     }
 
     /**
@@ -125,6 +192,46 @@ task.setAssignedUser(assignedUser);
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Task not found with ID: 1");
     }
+    /**
+     * Tests that a task moved to the archive is still returned by getTaskById.
+     */
+    @Test
+    void getTaskById_whenArchived_shouldFallBackToArchive() {
+        Long taskId = 1L;
+        ArchivedTask archived = ArchivedTask.builder()
+                .id(taskId)
+                .title("Old Task")
+                .status(TaskStatus.DONE)
+                .priority(TaskPriority.LOW)
+                .build();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findById(taskId)).thenReturn(Optional.of(archived));
+
+        TaskDto result = taskService.getTaskById(taskId);
+
+        assertThat(result.id()).isEqualTo(taskId);
+        assertThat(result.title()).isEqualTo("Old Task");
+        assertThat(result.status()).isEqualTo(TaskStatus.DONE);
+    }
+
+    /**
+     * Tests that completing a task records its completion time.
+     */
+    @Test
+    void updateTask_toDone_shouldRecordCompletion() {
+        Long taskId = 1L;
+        Task existingTask = new Task();
+        existingTask.setId(taskId);
+        TaskRequestDto dto = new TaskRequestDto(taskId, "Title", "Desc", TaskStatus.DONE, TaskPriority.LOW,
+                LocalDate.now(), 2L);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.saveAndFlush(existingTask)).thenReturn(existingTask);
+
+        taskService.updateTask(taskId, dto);
+
+        assertThat(existingTask.getCompletedAt()).isNotNull();
+    }
+
     @Test
     void deleteTask_ShouldThrowAccessDenied_WhenAssignedUserIsNull() {
         // Arrange
@@ -145,6 +252,7 @@ task.setAssignedUser(assignedUser);
         assertEquals("Cannot delete task without an assigned user.", exception.getMessage());
 
         verify(taskRepository, never()).delete(any(Task.class));
+        verify(taskRepository, never()).deleteTaskById(any());
     }
     /**
      * Tests that getAllTasks returns a paginated list of TaskDto objects.
@@ -172,6 +280,25 @@ task.setAssignedUser(assignedUser);
         assertThat(result.getContent().get(1).title()).isEqualTo("Task 2");
     }
 
+    /**
+     * Tests that a sparse fieldset request is pushed down to a projection query on Task.
+     */
+    @Test
+    void getAllTasks_withFields_shouldUseProjectionQuery() {
+        Pageable pageable = PageRequest.of(0, 2);
+        Set<String> fields = Set.of("id", "title");
+        Page<Map<String, Object>> rows = new PageImpl<>(List.of(Map.of("id", 1L, "title", "Task 1")), pageable, 1);
+
+        when(sparseFieldsetQuery.findPage(eq(Task.class), anyMap(), eq(fields), eq(Map.of()), eq(pageable)))
+                .thenReturn(rows);
+
+        Page<Map<String, Object>> result = taskService.getAllTasks(pageable, fields);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0)).containsOnlyKeys("id", "title");
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+
     /**
      * Tests that updating an existing task applies changes and returns updated TaskDto.
      */
@@ -198,15 +325,46 @@ task.setAssignedUser(assignedUser);
         );
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(userRepository.findById(mockUserId)).thenReturn(Optional.of(mockUser));
+        when(userRepository.getReferenceById(mockUserId)).thenReturn(mockUser);
 
-        when(taskRepository.save(existingTask)).thenReturn(existingTask);
+        when(taskRepository.saveAndFlush(existingTask)).thenReturn(existingTask);
 
         TaskDto result = taskService.updateTask(taskId, requestDto);
 
         assertThat(result.title()).isEqualTo("Title");
         assertThat(result.status()).isEqualTo(TaskStatus.DONE);
-        verify(taskRepository).save(existingTask);
+        verify(taskRepository).saveAndFlush(existingTask);
+    }
+
+    /**
+     * Tests that an update publishes one audit entry per changed field and none for unchanged ones.
+     */
+    @Test
+    void updateTask_shouldPublishFieldLevelChanges() {
+        Long taskId = 1L;
+        User user = new User();
+        user.setId(2L);
+        Task task = new Task();
+        task.setId(taskId);
+        task.setTitle("Old Title");
+        task.setDescription("Description");
+        task.setStatus(TaskStatus.TODO);
+        task.setPriority(TaskPriority.HIGH);
+        task.setTargetDate(LocalDate.of(2025, 12, 31));
+        task.setAssignedUser(user);
+        TaskRequestDto dto = new TaskRequestDto(taskId, "New Title", "Description",
+                TaskStatus.IN_PROGRESS, TaskPriority.HIGH, LocalDate.of(2025, 12, 31), 2L);
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(userRepository.getReferenceById(2L)).thenReturn(user);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+
+        taskService.updateTask(taskId, dto);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskAuditEvent audit
+                && audit.entries().stream().map(TaskAuditEntry::field).toList().equals(List.of("title", "status"))
+                && audit.entries().get(0).oldValue().equals("Old Title")
+                && audit.entries().get(0).newValue().equals("New Title")));
     }
 
     /**
@@ -250,8 +408,34 @@ task.setAssignedUser(assignedUser);
 
         taskService.deleteTask(taskId);
 
-        verify(taskRepository).delete(task);
+        verify(commentRepository).deleteAllByTaskId(taskId);
+        verify(taskRepository).deleteTaskById(taskId);
+        verify(taskRepository, never()).delete(any(Task.class));
         verify(messagingTemplate).convertAndSend(eq("/topic/updates"), any(NotificationMessage.class));
+        verify(taskChangeRecorder).record(taskId, TaskChangeType.DELETED, 0);
+    }
+
+    /**
+     * Tests that in soft-delete mode the task and its comments are only marked deleted.
+     */
+    @Test
+    void deleteTask_softMode_shouldMarkDeleted() {
+        Long taskId = 1L;
+        User mockUser = new User();
+        mockUser.setRoles(Set.of(Role.ROLE_ADMIN));
+        Task task = new Task();
+        task.setId(taskId);
+        task.setAssignedUser(mockUser);
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(deletionPolicy.isSoft()).thenReturn(true);
+
+        taskService.deleteTask(taskId);
+
+        verify(taskRepository).softDeleteById(eq(taskId), any(LocalDateTime.class));
+        verify(commentRepository).softDeleteAllByTaskId(eq(taskId), any(LocalDateTime.class));
+        verify(taskRepository, never()).deleteTaskById(any());
+        verify(commentRepository, never()).deleteAllByTaskId(any());
     }
 
     /**
@@ -295,8 +479,8 @@ task.setAssignedUser(assignedUser);
                 .build();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(newAssignedUser));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.getReferenceById(userId)).thenReturn(newAssignedUser);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         TaskDto result = taskService.updateTask(taskId, dto);
 
@@ -307,7 +491,203 @@ task.setAssignedUser(assignedUser);
         assertEquals(dto.targetDate(), result.targetDate());
 
         verify(taskRepository).findById(taskId);
-        verify(userRepository).findById(userId);
-        verify(taskRepository).save(any(Task.class));
+        verify(userRepository).getReferenceById(userId);
+        verify(taskRepository).saveAndFlush(any(Task.class));
+        assertEquals(newAssignedUser, existingTask.getAssignedUser());
+    }
+
+    /**
+     * Tests that a sync from a cursor reads the next changes from the log, reports each task once
+     * by its latest change and positions the next cursor on the last change returned.
+     */
+    @Test
+    void syncTasks_withCursor_shouldReturnChangesTombstonesAndNextCursor() {
+        Task first = new Task();
+        first.setId(3L);
+        first.setTitle("First");
+        when(taskChangeLog.readAfter(10L, 4))
+                .thenReturn(List.of(change(11L, 3L, TaskChangeType.UPDATED), change(12L, 9L, TaskChangeType.DELETED),
+                        change(13L, 3L, TaskChangeType.COMMENTED), change(14L, 4L, TaskChangeType.UPDATED)));
+        when(taskRepository.findAllById(List.of(3L))).thenReturn(List.of(first));
+
+        TaskSyncDto result = taskService.syncTasks(new SyncCursor(10L, null).encode(), 3);
+
+        assertThat(result.changed()).extracting(TaskDto::id).containsExactly(3L);
+        assertThat(result.deleted()).containsExactly(9L);
+        assertThat(result.hasMore()).isTrue();
+        assertThat(SyncCursor.decode(result.cursor())).isEqualTo(new SyncCursor(13L, null));
+    }
+
+    /**
+     * Tests that a first sync returns the live tasks without tombstones, anchored at the
+     * stable change sequence read before the download.
+     */
+    @Test
+    void syncTasks_withoutCursor_shouldDownloadLiveTasksFromCurrentSequence() {
+        Task task = new Task();
+        task.setId(1L);
+        when(taskChangeLog.stableSequence()).thenReturn(20L);
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(501))).thenReturn(List.of(task));
+
+        TaskSyncDto result = taskService.syncTasks(null, 500);
+
+        assertThat(result.changed()).hasSize(1);
+        assertThat(result.deleted()).isEmpty();
+        // The changes made during the download follow in the next response
+        assertThat(result.hasMore()).isTrue();
+        assertThat(SyncCursor.decode(result.cursor())).isEqualTo(new SyncCursor(20L, null));
+        verify(taskChangeLog, never()).readAfter(anyLong(), anyInt());
+    }
+
+    /**
+     * Tests that a first sync larger than one page continues after the last task ID.
+     */
+    @Test
+    void syncTasks_downloadInProgress_shouldContinueAfterLastTask() {
+        Task first = new Task();
+        first.setId(5L);
+        Task second = new Task();
+        second.setId(6L);
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.ofSize(2))).thenReturn(List.of(first, second));
+
+        TaskSyncDto result = taskService.syncTasks(new SyncCursor(20L, 2L).encode(), 1);
+
+        assertThat(result.changed()).extracting(TaskDto::id).containsExactly(5L);
+        assertThat(SyncCursor.decode(result.cursor())).isEqualTo(new SyncCursor(20L, 5L));
+    }
+
+    /**
+     * Tests that a malformed sync cursor is rejected.
+     */
+    @Test
+    void syncTasks_malformedCursor_shouldBeBadRequest() {
+        assertThatThrownBy(() -> taskService.syncTasks("not-a-cursor", 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static TaskChange change(Long sequence, Long taskId, TaskChangeType type) {
+        return new TaskChange(sequence, taskId, type, 0, LocalDateTime.now());
+    }
+
+    /**
+     * Tests that a merge patch changes only the provided field and keeps the assignee
+     * without looking it up when its ID is unchanged.
+     */
+    @Test
+    void patchTask_singleField_shouldKeepOtherFieldsAndSkipAssigneeLookup() {
+        User user = new User();
+        user.setId(2L);
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Title");
+        task.setDescription("Description");
+        task.setStatus(TaskStatus.TODO);
+        task.setAssignedUser(user);
+        ObjectNode patch = JsonNodeFactory.instance.objectNode().put("status", "IN_PROGRESS").put("assignedUserId", 2L);
+        when(taskMergePatch.read(patch))
+                .thenReturn(new LinkedHashMap<>(Map.of("status", TaskStatus.IN_PROGRESS, "assignedUserId", 2L)));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+
+        TaskDto result = taskService.patchTask(1L, patch);
+
+        assertThat(result.status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(result.title()).isEqualTo("Title");
+        assertThat(result.description()).isEqualTo("Description");
+        verify(userRepository, never()).getReferenceById(any());
+        verify(taskChangeRecorder).record(1L, TaskChangeType.UPDATED, 0);
+    }
+
+    /**
+     * Tests that a merge patch that changes nothing does not save the task.
+     */
+    @Test
+    void patchTask_withoutChanges_shouldNotSave() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Title");
+        ObjectNode patch = JsonNodeFactory.instance.objectNode().put("title", "Title");
+        when(taskMergePatch.read(patch)).thenReturn(Map.of("title", "Title"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        taskService.patchTask(1L, patch);
+
+        verify(taskRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(taskChangeRecorder, messagingTemplate);
+    }
+
+    /**
+     * Tests that an If-Match update is a single versioned UPDATE with no prior read,
+     * audited with the written values only.
+     */
+    @Test
+    void updateTask_ifMatch_shouldUpdateWithoutSelect() {
+        TaskRequestDto dto = new TaskRequestDto(1L, "Title", "Description", TaskStatus.DONE,
+                TaskPriority.HIGH, LocalDate.now().plusDays(1), 2L);
+        User assignee = new User();
+        assignee.setId(2L);
+        when(userRepository.getReferenceById(2L)).thenReturn(assignee);
+        when(taskRepository.updateIfVersion(eq(1L), eq(3), eq("Title"), eq("Description"), eq(TaskStatus.DONE),
+                eq(TaskPriority.HIGH), any(LocalDate.class), eq(assignee), eq(true), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        TaskDto result = taskService.updateTask(1L, dto, 3);
+
+        assertThat(result.version()).isEqualTo(4);
+        assertThat(result.title()).isEqualTo("Title");
+        assertThat(result.commentCount()).isNull();
+        verify(taskRepository, never()).findById(any());
+        verify(taskChangeRecorder).record(1L, TaskChangeType.UPDATED, 4);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskAuditEvent audit
+                && audit.entries().stream().anyMatch(entry -> entry.field().equals("title")
+                        && entry.oldValue() == null && entry.newValue().equals("Title"))));
+    }
+
+    /**
+     * Tests that an If-Match update of a task whose version has moved on fails with 412.
+     */
+    @Test
+    void updateTask_ifMatchStale_shouldThrowPreconditionFailed() {
+        TaskRequestDto dto = new TaskRequestDto(1L, "Title", null, TaskStatus.TODO,
+                TaskPriority.LOW, LocalDate.now().plusDays(1), 2L);
+        when(taskRepository.updateIfVersion(eq(1L), eq(3), any(), any(), any(), any(), any(), any(),
+                anyBoolean(), any())).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.updateTask(1L, dto, 3))
+                .isInstanceOf(PreconditionFailedException.class);
+        verifyNoInteractions(taskChangeRecorder, eventPublisher);
+    }
+
+    /**
+     * Tests that an If-Match update of a missing task fails with 404 rather than 412.
+     */
+    @Test
+    void updateTask_ifMatchMissingTask_shouldThrowNotFound() {
+        TaskRequestDto dto = new TaskRequestDto(1L, "Title", null, TaskStatus.TODO,
+                TaskPriority.LOW, LocalDate.now().plusDays(1), 2L);
+        when(taskRepository.updateIfVersion(eq(1L), eq(3), any(), any(), any(), any(), any(), any(),
+                anyBoolean(), any())).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> taskService.updateTask(1L, dto, 3))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    /**
+     * Tests that an If-Match patch of a task whose version has moved on fails with 412 before writing.
+     */
+    @Test
+    void patchTask_ifMatchStale_shouldThrowPreconditionFailed() {
+        ObjectNode patch = JsonNodeFactory.instance.objectNode().put("title", "New");
+        Task task = new Task();
+        task.setId(1L);
+        task.setVersion(4);
+        when(taskMergePatch.read(patch)).thenReturn(Map.of("title", "New"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskService.patchTask(1L, patch, 3))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(taskRepository, never()).saveAndFlush(any());
     }
 }
@@ -0,0 +1,228 @@
+package com.klm.taskmanagement.task.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klm.taskmanagement.config.CommentSecurityConfig;
+import com.klm.taskmanagement.global.exception.PreconditionFailedException;
+import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.projection.SparseFieldsetQuery;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.task.changefeed.TaskChangeLog;
+import com.klm.taskmanagement.task.changefeed.TaskChangeRecorder;
+import com.klm.taskmanagement.task.dto.CommentRequestDto;
+import com.klm.taskmanagement.task.dto.TaskRequestDto;
+import com.klm.taskmanagement.task.entity.Comment;
+import com.klm.taskmanagement.task.entity.Task;
+import com.klm.taskmanagement.task.entity.TaskPriority;
+import com.klm.taskmanagement.task.entity.TaskStatus;
+import com.klm.taskmanagement.user.entity.Role;
+import com.klm.taskmanagement.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Asserts the exact number of SQL statements issued by the task and comment write paths,
+ * so referenced users and tasks are never loaded just to be linked.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TaskServiceImpl.class, CommentServiceImpl.class, SparseFieldsetQuery.class, CommentSecurityConfig.class,
+        DeletionPolicy.class, TaskChangeRecorder.class, TaskChangeLog.class, TaskMergePatch.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class WritePathStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private Statistics statistics;
+    private Long userId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .username("assignee").password("secret").roles(Set.of(Role.ROLE_ADMIN)).build());
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setTargetDate(LocalDate.now().plusDays(1));
+        task.setAssignedUser(user);
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+        taskId = task.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createTask_issuesTaskAndChangeLogInsertsOnly() {
+        taskService.createTask(request(userId));
+
+        // Task insert plus the task_change_log entry behind the SSE change feed
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void updateTask_issuesSelectUpdateAndChangeLogInsertOnly() {
+        taskService.updateTask(taskId, request(userId));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void updateTask_ifMatch_issuesConditionalUpdateAndChangeLogInsertOnly() {
+        taskService.updateTask(taskId, request(userId), 0);
+
+        // One versioned UPDATE with no SELECT before it
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.find(Task.class, taskId).getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void updateTask_ifMatchStale_isPreconditionFailedAndLeavesTaskUnchanged() {
+        assertThatThrownBy(() -> taskService.updateTask(taskId, request(userId), 5))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        // The UPDATE matched no row, then the existence check tells a stale version from a missing task
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(entityManager.find(Task.class, taskId).getVersion()).isZero();
+    }
+
+    @Test
+    void patchTask_ifMatchStale_isPreconditionFailed() {
+        assertThatThrownBy(() -> taskService.patchTask(taskId,
+                new ObjectMapper().createObjectNode().put("title", "Renamed"), 5))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void patchTask_singleField_issuesSelectUpdateAndChangeLogInsertOnly() {
+        taskService.patchTask(taskId, new ObjectMapper().createObjectNode().put("title", "Renamed"));
+
+        // The unchanged assignee is neither loaded nor re-linked
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(entityManager.find(Task.class, taskId).getTitle()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void patchTask_withoutChanges_issuesNoUpdate() {
+        taskService.patchTask(taskId, new ObjectMapper().createObjectNode().put("title", "Task"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createComment_issuesCounterUpdateAndInsertsOnly() {
+        commentService.createComment(new CommentRequestDto("Looks good", taskId, userId));
+
+        // Counter update and comment insert, then the task's version read and the change log entry for sync
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void createComment_missingTask_isNotFoundWithoutInsert() {
+        assertThatThrownBy(() -> commentService.createComment(new CommentRequestDto("Hi", taskId + 1000, userId)))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+
+    @Test
+    void createComment_missingAuthor_isNotFound() {
+        assertThatThrownBy(() -> commentService.createComment(new CommentRequestDto("Hi", taskId, userId + 1000)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Author not found");
+    }
+
+    @Test
+    void createTask_missingAssignee_isNotFound() {
+        assertThatThrownBy(() -> taskService.createTask(request(userId + 1000)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void deleteTask_statementCountDoesNotDependOnCommentVolume() {
+        Long fewComments = persistTaskWithComments(3);
+        Long manyComments = persistTaskWithComments(300);
+
+        statistics.clear();
+        taskService.deleteTask(fewComments);
+        long statementsForFew = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics.clear();
+        taskService.deleteTask(manyComments);
+        long statementsForMany = statistics.getPrepareStatementCount();
+
+        assertThat(statementsForMany).isEqualTo(statementsForFew);
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2); // the task and its assignee
+        assertThat(entityManager.getEntityManager()
+                .createQuery("select count(t) from Task t where t.id = :taskId", Long.class)
+                .setParameter("taskId", manyComments)
+                .getSingleResult()).isZero();
+        assertThat(entityManager.getEntityManager()
+                .createQuery("select count(c) from Comment c where c.task.id = :taskId", Long.class)
+                .setParameter("taskId", manyComments)
+                .getSingleResult()).isZero();
+    }
+
+    private Long persistTaskWithComments(int comments) {
+        User assignee = entityManager.find(User.class, userId);
+        Task task = new Task();
+        task.setTitle("Task with " + comments + " comments");
+        task.setTargetDate(LocalDate.now().plusDays(1));
+        task.setAssignedUser(assignee);
+        entityManager.persist(task);
+        for (int i = 0; i < comments; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment " + i);
+            comment.setTask(task);
+            comment.setAuthor(assignee);
+            entityManager.persist(comment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return task.getId();
+    }
+
+    private TaskRequestDto request(Long assignedUserId) {
+        return new TaskRequestDto(null, "Title", "Description", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                LocalDate.now().plusDays(7), assignedUserId);
+    }
+}
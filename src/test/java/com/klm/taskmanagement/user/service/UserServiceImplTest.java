@@ -1,10 +1,21 @@
 package com.klm.taskmanagement.user.service;
 
+import com.klm.taskmanagement.config.CommentSecurityConfig;
+import com.klm.taskmanagement.global.exception.ConflictException;
 import com.klm.taskmanagement.global.exception.ResourceNotFoundException;
+import com.klm.taskmanagement.global.softdelete.DeletionPolicy;
+import com.klm.taskmanagement.security.CachingUserInfoService;
 import com.klm.taskmanagement.security.JwtTokenGenerator;
+import com.klm.taskmanagement.security.TokenInvalidationRegistry;
 import com.klm.taskmanagement.security.UserInfoDetails;
+import com.klm.taskmanagement.security.login.LoginPipeline;
+import com.klm.taskmanagement.security.refresh.RefreshTokenService;
+import com.klm.taskmanagement.security.revocation.TokenRevocationService;
+import com.klm.taskmanagement.task.repository.CommentRepository;
+import com.klm.taskmanagement.task.repository.TaskRepository;
 import com.klm.taskmanagement.user.dto.AuthResponseDto;
 import com.klm.taskmanagement.user.dto.LoginDto;
+import com.klm.taskmanagement.user.dto.RefreshTokenDto;
 import com.klm.taskmanagement.user.dto.RegisterDto;
 import com.klm.taskmanagement.user.dto.UserResponse;
 import com.klm.taskmanagement.user.entity.Role;
@@ -16,7 +27,6 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,6 +34,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -45,9 +56,18 @@ class UserServiceImplTest {
     @InjectMocks
     private UserServiceImpl userService;
 
+    @Mock
+    private DeletionPolicy deletionPolicy;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -55,10 +75,25 @@ class UserServiceImplTest {
     private JwtTokenGenerator jwtTokenGenerator;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private LoginPipeline loginPipeline;
 
     @Mock
     private UserMapper userMapper;
+
+    @Mock
+    private TokenInvalidationRegistry tokenInvalidationRegistry;
+
+    @Mock
+    private CachingUserInfoService cachingUserInfoService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private CommentSecurityConfig commentSecurity;
     /**
      * Initializes mocks before each test using MockitoAnnotations.
      */
@@ -87,7 +122,7 @@ class UserServiceImplTest {
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(jwtTokenGenerator.generateToken(anyString(), anySet())).thenReturn("jwt-token");
         when(userMapper.toAuthResponse(any(User.class))).thenReturn(
-                new AuthResponseDto("jwt-token", user.getUsername(), user.getEmail(), Set.of("USER"))
+                new AuthResponseDto("jwt-token", user.getUsername(), user.getEmail(), Set.of("USER"), "refresh-token")
         );
 
         AuthResponseDto response = userService.register(registerDto);
@@ -157,21 +192,45 @@ class UserServiceImplTest {
         UserInfoDetails userDetails = new UserInfoDetails(user);
         Authentication auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
-        when(authenticationManager.authenticate(any()))
-                .thenReturn(auth);
+        when(loginPipeline.authenticate("testuser", "password123", "127.0.0.1"))
+                .thenReturn(CompletableFuture.completedFuture(auth));
 
         when(jwtTokenGenerator.generateToken(eq(user.getUsername()), anySet()))
                 .thenReturn("mocked-jwt-token");
+        when(refreshTokenService.issue(user)).thenReturn("mocked-refresh-token");
 
         // When
-        AuthResponseDto response = userService.login(loginDto);
+        AuthResponseDto response = userService.login(loginDto, "127.0.0.1").join();
 
         // Then
         assertEquals("mocked-jwt-token", response.token());
+        assertEquals("mocked-refresh-token", response.refreshToken());
         assertEquals("testuser", response.userName());
         assertEquals("test@example.com", response.email());
         assertTrue(response.roles().contains("ROLE_USER"));
     }
+    /**
+     * Tests that a refresh issues new tokens from the rotated refresh token without touching the login pool.
+     */
+    @Test
+    void refresh_ShouldIssueNewTokens_WithoutPasswordCheck() {
+        User user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .roles(Set.of(Role.ROLE_USER))
+                .build();
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "new-refresh-token"));
+        when(jwtTokenGenerator.generateToken(eq("testuser"), anySet())).thenReturn("new-jwt-token");
+
+        AuthResponseDto response = userService.refresh(new RefreshTokenDto("old-refresh-token"));
+
+        assertEquals("new-jwt-token", response.token());
+        assertEquals("new-refresh-token", response.refreshToken());
+        assertTrue(response.roles().contains("ROLE_USER"));
+        verifyNoInteractions(loginPipeline, passwordEncoder);
+    }
     /**
      * Test successful retrieval of all users returns a non-empty list.
      */
@@ -226,6 +285,9 @@ class UserServiceImplTest {
         assertEquals(dto.userName(), result.username());
         assertEquals(dto.email(), result.email());
         verify(userRepository).save(any(User.class));
+        verify(cachingUserInfoService).evict("oldUser");
+        verify(cachingUserInfoService).evict("updatedUser");
+        verify(commentSecurity).evictAll();
     }
 
     /**
@@ -254,7 +316,42 @@ class UserServiceImplTest {
 
         assertDoesNotThrow(() -> userService.deleteUser(userId));
 
+        verify(refreshTokenService).deleteAllForUser(userId);
         verify(userRepository).delete(user);
+        verify(cachingUserInfoService).evict("testuser");
+    }
+
+    /**
+     * Failure case: deleteUser should refuse (409) while tasks are still assigned to the user,
+     * so those tasks keep a loadable assignee.
+     */
+    @Test
+    void deleteUser_ShouldThrowConflict_WhenUserHasAssignedTasks() {
+        Long userId = 1L;
+        User user = User.builder().id(userId).username("testuser").roles(Set.of(Role.ROLE_ADMIN)).build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(taskRepository.existsByAssignedUserId(userId)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> userService.deleteUser(userId));
+
+        verify(userRepository, never()).softDeleteById(any(), any());
+        verify(userRepository, never()).delete(any());
+        verifyNoInteractions(refreshTokenService, tokenInvalidationRegistry);
+    }
+
+    /**
+     * Failure case: deleteUser should refuse (409) while comments written by the user remain.
+     */
+    @Test
+    void deleteUser_ShouldThrowConflict_WhenUserHasComments() {
+        Long userId = 1L;
+        User user = User.builder().id(userId).username("testuser").roles(Set.of(Role.ROLE_ADMIN)).build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(commentRepository.existsByAuthorId(userId)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> userService.deleteUser(userId));
+
+        verify(userRepository, never()).softDeleteById(any(), any());
     }
 
     /**
@@ -293,6 +390,7 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(newRoles, result.roles());
         verify(userRepository).save(user);
+        verify(tokenInvalidationRegistry).invalidateUser(user.getUsername());
     }
 
     /**
@@ -0,0 +1,110 @@
+package com.klm.taskmanagement.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TaskTopicRegistry} subscription bookkeeping.
+ */
+class TaskTopicRegistryTest {
+
+    private final TaskTopicRegistry registry = new TaskTopicRegistry();
+
+    @Test
+    void subscribe_tracksOnlyTaskTopics() {
+        registry.connect("s1");
+        registry.subscribe("s1", "sub-0", "/topic/updates");
+        registry.subscribe("s1", "sub-1", "/topic/tasks/7");
+        registry.subscribe("s1", "sub-2", "/topic/tasks/not-a-number");
+
+        assertThat(registry.hasSubscribers(7L)).isTrue();
+        assertThat(registry.hasSubscribers(8L)).isFalse();
+        assertThat(registry.watchedTaskCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unsubscribe_keepsTaskWatchedWhileOtherViewersRemain() {
+        registry.connect("s1");
+        registry.connect("s2");
+        registry.subscribe("s1", "sub-1", "/topic/tasks/7");
+        registry.subscribe("s2", "sub-1", "/topic/tasks/7");
+
+        registry.unsubscribe("s1", "sub-1");
+        assertThat(registry.hasSubscribers(7L)).isTrue();
+
+        registry.unsubscribe("s2", "sub-1");
+        assertThat(registry.hasSubscribers(7L)).isFalse();
+    }
+
+    @Test
+    void disconnect_releasesAllSubscriptionsOfSession() {
+        registry.connect("s1");
+        registry.subscribe("s1", "sub-1", "/topic/tasks/7");
+        registry.subscribe("s1", "sub-2", "/topic/tasks/9");
+
+        registry.disconnect("s1");
+
+        assertThat(registry.hasSubscribers(7L)).isFalse();
+        assertThat(registry.hasSubscribers(9L)).isFalse();
+        assertThat(registry.watchedTaskCount()).isZero();
+    }
+
+    /**
+     * A SUBSCRIBE processed after its session's DISCONNECT must not leave a viewer behind.
+     */
+    @Test
+    void subscribe_afterDisconnect_isIgnored() {
+        registry.connect("s1");
+        registry.subscribe("s1", "sub-1", "/topic/tasks/7");
+        registry.disconnect("s1");
+
+        registry.subscribe("s1", "sub-2", "/topic/tasks/7");
+        registry.subscribe("s1", "sub-3", "/topic/tasks/9");
+
+        assertThat(registry.hasSubscribers(7L)).isFalse();
+        assertThat(registry.watchedTaskCount()).isZero();
+    }
+
+    @Test
+    void subscribe_withoutConnect_isIgnored() {
+        registry.subscribe("s1", "sub-1", "/topic/tasks/7");
+
+        assertThat(registry.hasSubscribers(7L)).isFalse();
+    }
+
+    @Test
+    void subscribe_racingDisconnect_shouldNotLeakViewers() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 500; i++) {
+                String sessionId = "s" + i;
+                registry.connect(sessionId);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> subscriber = pool.submit(() -> {
+                    start.await();
+                    registry.subscribe(sessionId, "sub-1", "/topic/tasks/7");
+                    return null;
+                });
+                Future<?> disconnector = pool.submit(() -> {
+                    start.await();
+                    registry.disconnect(sessionId);
+                    return null;
+                });
+                start.countDown();
+                subscriber.get(5, TimeUnit.SECONDS);
+                disconnector.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(registry.watchedTaskCount()).isZero();
+    }
+}